@@ -16,6 +16,8 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -125,7 +127,13 @@ public class VertxApplication {
     private Future<Pair<Vertx, InitializationContext>> configureAndDeploy(JsonObject config) {
         Promise<Pair<Vertx, InitializationContext>> promise = Promise.promise();
 
-        this.vertx = this.createVertx(config);// create vertx
+        try {
+            this.vertx = this.createVertx(config);// create vertx
+        } catch (RuntimeException e) {
+            LOGGER.error("Error while creating vertx instance", e);
+            promise.fail(e);
+            return promise.future();
+        }
 
         vertx.runOnContext((x) -> createInitializationContext(this.vertx, config) // create context
             .flatMap(ictx -> preHandler.handle(this.vertx, ictx, config).map(__ -> ictx)) // before deployment
@@ -193,8 +201,8 @@ public class VertxApplication {
         Promise<List<Triple<String, String, Boolean>>> promise = Promise.promise();
 
         Map<String, Future<String>> deployments = verticleConfigurers.stream()
-            .map(c -> c.create(vertx, initializationContext, config))
-            .collect(Collectors.toMap(ClassUtils::getSimpleName, vertx::deployVerticle));
+            .map(c -> deployVerticle(vertx, c, initializationContext, config))
+            .collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
 
         CompositeFuture.join(List.copyOf(deployments.values()))
             .onComplete(r -> {
@@ -225,4 +233,31 @@ public class VertxApplication {
         return promise.future();
     }
 
+    /**
+     * Deploys verticles created by configurer using configurer deployment options. First created verticle is used
+     * for deployment name, each additional instance is created by configurer.
+     *
+     * @return pair of verticle name and deployment id future
+     */
+    private Pair<String, Future<String>> deployVerticle(Vertx vertx, VerticleConfigurer configurer,
+                                                        InitializationContext initializationContext, JsonObject config) {
+        Verticle verticle = configurer.create(vertx, initializationContext, config);
+        String name = ClassUtils.getSimpleName(verticle);
+        try {
+            DeploymentOptions deploymentOptions = configurer.deploymentOptions(vertx, config);
+            if (deploymentOptions.getInstances() == 1) {
+                return Pair.of(name, vertx.deployVerticle(verticle, deploymentOptions));
+            }
+            LOGGER.debug("Deploying {} instances of verticle '{}'", deploymentOptions.getInstances(), name);
+            AtomicReference<Verticle> first = new AtomicReference<>(verticle);
+            Supplier<Verticle> supplier = () -> {
+                Verticle v = first.getAndSet(null);
+                return v != null ? v : configurer.create(vertx, initializationContext, config);
+            };
+            return Pair.of(name, vertx.deployVerticle(supplier, deploymentOptions));
+        } catch (RuntimeException e) {
+            return Pair.of(name, Future.failedFuture(e));
+        }
+    }
+
 }
@@ -0,0 +1,91 @@
+package io.github.balconyseats.vertx.helper.application.configurer;
+
+import io.github.balconyseats.vertx.helper.application.InitializationContext;
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Verticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Verticle configurer that deploys number of verticle instances read from configuration, e.g. for
+ * {@link io.github.balconyseats.vertx.helper.http.HttpServerVerticle}:
+ *
+ * <pre>
+ *     http:
+ *       server:
+ *         instances: auto
+ * </pre>
+ *
+ * Value 'auto' deploys one instance per event loop. If value is not defined then one instance is deployed.
+ */
+public class ConfigInstancesVerticleConfigurer implements VerticleConfigurer {
+
+    public static final String AUTO_INSTANCES = "auto";
+
+    private final VerticleConfigurer configurer;
+    private final String instancesPath;
+
+    public ConfigInstancesVerticleConfigurer(VerticleConfigurer configurer, String instancesPath) {
+        this.configurer = configurer;
+        this.instancesPath = instancesPath;
+    }
+
+    public static ConfigInstancesVerticleConfigurer instance(VerticleConfigurer configurer, String instancesPath) {
+        return new ConfigInstancesVerticleConfigurer(configurer, instancesPath);
+    }
+
+    @Override
+    public Verticle create(Vertx vertx, InitializationContext initializationContext, JsonObject config) {
+        return configurer.create(vertx, initializationContext, config);
+    }
+
+    @Override
+    public DeploymentOptions deploymentOptions(Vertx vertx, JsonObject config) {
+        return configurer.deploymentOptions(vertx, config).setInstances(instances(vertx, config));
+    }
+
+    private int instances(Vertx vertx, JsonObject config) {
+        Object value = JsonObjectHelper.getValue(instancesPath, config);
+        if (value == null) {
+            return 1;
+        }
+        if (value instanceof Number) {
+            return validInstances(((Number) value).intValue());
+        }
+        String instances = value.toString().trim();
+        if (AUTO_INSTANCES.equalsIgnoreCase(instances)) {
+            return eventLoops(vertx);
+        }
+        try {
+            return validInstances(Integer.parseInt(instances));
+        } catch (NumberFormatException e) {
+            throw new IllegalConfigurationException(
+                String.format("Invalid number of instances '%s' at '%s', expected number or '%s'.", instances, instancesPath, AUTO_INSTANCES));
+        }
+    }
+
+    private int validInstances(int instances) {
+        if (instances < 1) {
+            throw new IllegalConfigurationException(
+                String.format("Invalid number of instances '%d' at '%s', expected at least 1.", instances, instancesPath));
+        }
+        return instances;
+    }
+
+    /**
+     * Returns number of event loop threads of vertx instance.
+     * @param vertx vertx instance
+     * @return number of event loops
+     */
+    public static int eventLoops(Vertx vertx) {
+        int count = 0;
+        for (var ignored : ((VertxInternal) vertx).getEventLoopGroup()) {
+            count++;
+        }
+        return count;
+    }
+
+}
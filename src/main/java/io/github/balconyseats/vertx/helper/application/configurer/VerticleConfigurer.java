@@ -1,16 +1,44 @@
 package io.github.balconyseats.vertx.helper.application.configurer;
 
 import io.github.balconyseats.vertx.helper.application.InitializationContext;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 
 /**
  * Configurer that instantiates and configures new {see {@link Verticle}}.
+ * <p>
+ * When {@link DeploymentOptions} define more than one instance, {@link #create(Vertx, InitializationContext, JsonObject)}
+ * is called for each instance.
+ * </p>
  */
 @FunctionalInterface
 public interface VerticleConfigurer {
 
     Verticle create(Vertx vertx, InitializationContext initializationContext, JsonObject config);
 
+    /**
+     * Creates deployment options for verticles created by this configurer, by default one instance is deployed.
+     *
+     * @param vertx vertx instance
+     * @param config configuration object
+     * @return deployment options
+     */
+    default DeploymentOptions deploymentOptions(Vertx vertx, JsonObject config) {
+        return new DeploymentOptions();
+    }
+
+    /**
+     * Creates configurer which deploys number of instances read from configuration.
+     * See {@link ConfigInstancesVerticleConfigurer}.
+     *
+     * @param configurer verticle configurer
+     * @param instancesPath json pointer to number of instances
+     * @return configurer
+     */
+    static VerticleConfigurer instances(VerticleConfigurer configurer, String instancesPath) {
+        return ConfigInstancesVerticleConfigurer.instance(configurer, instancesPath);
+    }
+
 }
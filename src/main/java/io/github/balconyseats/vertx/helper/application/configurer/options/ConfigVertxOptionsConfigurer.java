@@ -0,0 +1,97 @@
+package io.github.balconyseats.vertx.helper.application.configurer.options;
+
+import io.github.balconyseats.vertx.helper.application.configurer.VertxOptionsConfigurer;
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures thread pools and blocked thread checker of {@link VertxOptions} using configuration data:
+ *
+ * <pre>
+ *     vertx:
+ *       eventLoopPoolSize: 16
+ *       workerPoolSize: 20
+ *       internalBlockingPoolSize: 20
+ *       maxEventLoopExecuteTimeMillis: 2000
+ *       maxWorkerExecuteTimeMillis: 60000
+ *       blockedThreadCheckIntervalMillis: 1000
+ *       preferNativeTransport: true
+ * </pre>
+ *
+ * Values which are not defined are left unchanged.
+ */
+public class ConfigVertxOptionsConfigurer implements VertxOptionsConfigurer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigVertxOptionsConfigurer.class);
+
+    public static final String CONFIG_VERTX_EVENT_LOOP_POOL_SIZE = "/vertx/eventLoopPoolSize";
+    public static final String CONFIG_VERTX_WORKER_POOL_SIZE = "/vertx/workerPoolSize";
+    public static final String CONFIG_VERTX_INTERNAL_BLOCKING_POOL_SIZE = "/vertx/internalBlockingPoolSize";
+    public static final String CONFIG_VERTX_MAX_EVENT_LOOP_EXECUTE_TIME_MILLIS = "/vertx/maxEventLoopExecuteTimeMillis";
+    public static final String CONFIG_VERTX_MAX_WORKER_EXECUTE_TIME_MILLIS = "/vertx/maxWorkerExecuteTimeMillis";
+    public static final String CONFIG_VERTX_BLOCKED_THREAD_CHECK_INTERVAL_MILLIS = "/vertx/blockedThreadCheckIntervalMillis";
+    public static final String CONFIG_VERTX_PREFER_NATIVE_TRANSPORT = "/vertx/preferNativeTransport";
+
+    @Override
+    public VertxOptions configure(VertxOptions vertxOptions, JsonObject config) {
+        Integer eventLoopPoolSize = positiveInteger(CONFIG_VERTX_EVENT_LOOP_POOL_SIZE, config);
+        if (eventLoopPoolSize != null) {
+            vertxOptions.setEventLoopPoolSize(eventLoopPoolSize);
+        }
+        Integer workerPoolSize = positiveInteger(CONFIG_VERTX_WORKER_POOL_SIZE, config);
+        if (workerPoolSize != null) {
+            vertxOptions.setWorkerPoolSize(workerPoolSize);
+        }
+        Integer internalBlockingPoolSize = positiveInteger(CONFIG_VERTX_INTERNAL_BLOCKING_POOL_SIZE, config);
+        if (internalBlockingPoolSize != null) {
+            vertxOptions.setInternalBlockingPoolSize(internalBlockingPoolSize);
+        }
+        Long maxEventLoopExecuteTime = positiveLong(CONFIG_VERTX_MAX_EVENT_LOOP_EXECUTE_TIME_MILLIS, config);
+        if (maxEventLoopExecuteTime != null) {
+            vertxOptions.setMaxEventLoopExecuteTime(maxEventLoopExecuteTime)
+                .setMaxEventLoopExecuteTimeUnit(TimeUnit.MILLISECONDS);
+        }
+        Long maxWorkerExecuteTime = positiveLong(CONFIG_VERTX_MAX_WORKER_EXECUTE_TIME_MILLIS, config);
+        if (maxWorkerExecuteTime != null) {
+            vertxOptions.setMaxWorkerExecuteTime(maxWorkerExecuteTime)
+                .setMaxWorkerExecuteTimeUnit(TimeUnit.MILLISECONDS);
+        }
+        Long blockedThreadCheckInterval = positiveLong(CONFIG_VERTX_BLOCKED_THREAD_CHECK_INTERVAL_MILLIS, config);
+        if (blockedThreadCheckInterval != null) {
+            vertxOptions.setBlockedThreadCheckInterval(blockedThreadCheckInterval)
+                .setBlockedThreadCheckIntervalUnit(TimeUnit.MILLISECONDS);
+        }
+        if (JsonObjectHelper.getValue(CONFIG_VERTX_PREFER_NATIVE_TRANSPORT, config) != null) {
+            vertxOptions.setPreferNativeTransport(JsonObjectHelper.getBoolean(CONFIG_VERTX_PREFER_NATIVE_TRANSPORT, config));
+        }
+
+        LOGGER.info("Vertx options: event loops: {}, workers: {}, internal blocking: {}, prefer native transport: {}",
+            vertxOptions.getEventLoopPoolSize(), vertxOptions.getWorkerPoolSize(),
+            vertxOptions.getInternalBlockingPoolSize(), vertxOptions.getPreferNativeTransport());
+
+        return vertxOptions;
+    }
+
+    private static Integer positiveInteger(String path, JsonObject config) {
+        Integer value = JsonObjectHelper.getInteger(path, config);
+        if (value != null && value < 1) {
+            throw new IllegalConfigurationException(String.format("Invalid value '%d' at '%s', expected at least 1.", value, path));
+        }
+        return value;
+    }
+
+    private static Long positiveLong(String path, JsonObject config) {
+        Long value = JsonObjectHelper.getLong(path, config);
+        if (value != null && value < 1) {
+            throw new IllegalConfigurationException(String.format("Invalid value '%d' at '%s', expected at least 1.", value, path));
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.github.balconyseats.vertx.helper.application.logging;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Context;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging metrics registered to Vert.x default Micrometer registry:
+ * <ul>
+ *     <li>'logging.append' - timer of time spent by logging thread in appender tagged by 'thread' (event-loop, worker, other)</li>
+ *     <li>'logging.dropped' - counter of dropped events tagged by 'level'</li>
+ * </ul>
+ * Logging starts before Vert.x metrics, so meters are registered when registry becomes available.
+ */
+class LoggingMetrics {
+
+    static final String APPEND_TIMER = "logging.append";
+    static final String DROPPED_COUNTER = "logging.dropped";
+
+    private volatile Meters meters;
+
+    void append(long durationNanos) {
+        Meters m = meters();
+        if (m != null) {
+            Timer timer;
+            if (Context.isOnEventLoopThread()) {
+                timer = m.appendEventLoop;
+            } else if (Context.isOnWorkerThread()) {
+                timer = m.appendWorker;
+            } else {
+                timer = m.appendOther;
+            }
+            timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void dropped(Level level) {
+        Meters m = meters();
+        if (m != null) {
+            Counter counter;
+            if (level.levelInt <= Level.DEBUG_INT) {
+                counter = m.droppedDebug;
+            } else if (level.levelInt == Level.INFO_INT) {
+                counter = m.droppedInfo;
+            } else {
+                counter = m.droppedOther;
+            }
+            counter.increment();
+        }
+    }
+
+    private Meters meters() {
+        Meters m = this.meters;
+        if (m == null) {
+            MeterRegistry registry = BackendRegistries.getDefaultNow();
+            if (registry == null) {
+                return null;
+            }
+            synchronized (this) {
+                m = this.meters;
+                if (m == null) {
+                    m = new Meters(registry);
+                    this.meters = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Meters registered once, so recording does not look up registry.
+     */
+    private static class Meters {
+        private final Timer appendEventLoop;
+        private final Timer appendWorker;
+        private final Timer appendOther;
+        private final Counter droppedDebug;
+        private final Counter droppedInfo;
+        private final Counter droppedOther;
+
+        private Meters(MeterRegistry registry) {
+            this.appendEventLoop = appendTimer(registry, "event-loop");
+            this.appendWorker = appendTimer(registry, "worker");
+            this.appendOther = appendTimer(registry, "other");
+            this.droppedDebug = droppedCounter(registry, "debug");
+            this.droppedInfo = droppedCounter(registry, "info");
+            this.droppedOther = droppedCounter(registry, "other");
+        }
+
+        private static Timer appendTimer(MeterRegistry registry, String thread) {
+            return Timer.builder(APPEND_TIMER)
+                .tag("thread", thread)
+                .register(registry);
+        }
+
+        private static Counter droppedCounter(MeterRegistry registry, String level) {
+            return Counter.builder(DROPPED_COUNTER)
+                .tag("level", level)
+                .register(registry);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package io.github.balconyseats.vertx.helper.application.logging;
+
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import ch.qos.logback.core.status.ErrorStatus;
+import net.logstash.logback.encoder.StreamingEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Console appender which writes events with {@link StreamingEncoder} (e.g. {@link TracingLogstashEncoder}) directly
+ * to output stream, using encoder reusable buffer instead of allocating byte array per event. Other encoders are
+ * used as with {@link ConsoleAppender}.
+ *
+ * @param <E> event type
+ */
+public class StreamingConsoleAppender<E> extends ConsoleAppender<E> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void subAppend(E event) {
+        if (!(getEncoder() instanceof StreamingEncoder)) {
+            super.subAppend(event);
+            return;
+        }
+        if (!isStarted()) {
+            return;
+        }
+        if (event instanceof DeferredProcessingAware) {
+            ((DeferredProcessingAware) event).prepareForDeferredProcessing();
+        }
+        lock.lock();
+        try {
+            OutputStream outputStream = getOutputStream();
+            ((StreamingEncoder<E>) getEncoder()).encode(event, outputStream);
+            if (isImmediateFlush()) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            this.started = false;
+            addStatus(new ErrorStatus("IO failure in appender", this, e));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package io.github.balconyseats.vertx.helper.application.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.util.Duration;
+import io.github.balconyseats.vertx.helper.application.tracing.TracingConfigHelper;
+import io.reactiverse.contextual.logging.ContextualData;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import org.slf4j.MDC;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous appender which hands events to delegate appenders through bounded ring buffer, so logging thread
+ * (e.g. event loop) does not pay for encoding and I/O.
+ *
+ * <pre>
+ *     &lt;appender name="ASYNC" class="io.github.balconyseats.vertx.helper.application.logging.TracingAsyncAppender"&gt;
+ *         &lt;ringBufferSize&gt;8192&lt;/ringBufferSize&gt;
+ *         &lt;dropLevel&gt;INFO&lt;/dropLevel&gt;
+ *         &lt;discardingThreshold&gt;1638&lt;/discardingThreshold&gt;
+ *         &lt;metricsEnabled&gt;true&lt;/metricsEnabled&gt;
+ *         &lt;appender class="io.github.balconyseats.vertx.helper.application.logging.StreamingConsoleAppender"&gt;
+ *             &lt;encoder class="io.github.balconyseats.vertx.helper.application.logging.TracingLogstashEncoder"/&gt;
+ *         &lt;/appender&gt;
+ *     &lt;/appender&gt;
+ * </pre>
+ *
+ * Events with 'dropLevel' or lower level are dropped when remaining ring buffer capacity is below
+ * 'discardingThreshold' (default 20% of ring buffer). Events with higher level, e.g. WARN and ERROR, are never dropped
+ * and wait for free space instead.
+ * <p>
+ * Trace context from contextual data of the logging thread is stored in event MDC, so encoders running on appender
+ * thread write correct 'traceId' and 'spanId' (use '%X{traceId}' instead of '%vcl{traceId}' in patterns).
+ * Event MDC can be set only before it is read, so this appender must be the first appender of the logger which
+ * touches MDC, e.g. it is attached before any synchronous appender. Otherwise trace context is not captured and
+ * warning is reported once to logback status.
+ * When 'metricsEnabled' is true, time spent in appender by logging thread and dropped events are recorded, see
+ * {@link LoggingMetrics}.
+ * </p>
+ */
+public class TracingAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private Level dropLevel = Level.INFO;
+    private int discardingThreshold = -1;
+    private boolean metricsEnabled;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicBoolean mdcAlreadyReadWarned = new AtomicBoolean();
+    private LoggingMetrics metrics;
+
+    public TracingAsyncAppender() {
+        // wait for free space, droppable events are dropped before ring buffer is full
+        setAppendTimeout(Duration.buildByMilliseconds(-1));
+    }
+
+    @Override
+    public void start() {
+        if (discardingThreshold < 0) {
+            discardingThreshold = getRingBufferSize() / 5;
+        }
+        if (metricsEnabled) {
+            metrics = new LoggingMetrics();
+        }
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        long start = System.nanoTime();
+        if (isDroppable(event) && getDisruptor().getRingBuffer().remainingCapacity() <= discardingThreshold) {
+            drop(event);
+        } else {
+            super.append(event);
+        }
+        if (metrics != null) {
+            metrics.append(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected void prepareForDeferredProcessing(ILoggingEvent event) {
+        captureTraceContext(event);
+        super.prepareForDeferredProcessing(event);
+    }
+
+    private boolean isDroppable(ILoggingEvent event) {
+        return event.getLevel().levelInt <= dropLevel.levelInt;
+    }
+
+    private void drop(ILoggingEvent event) {
+        long dropped = droppedCount.incrementAndGet();
+        if (dropped == 1 || (getDroppedWarnFrequency() > 0 && dropped % getDroppedWarnFrequency() == 0)) {
+            addWarn("Dropped " + dropped + " total events with level " + dropLevel + " or lower due to ring buffer capacity");
+        }
+        if (metrics != null) {
+            metrics.dropped(event.getLevel());
+        }
+    }
+
+    private void captureTraceContext(ILoggingEvent event) {
+        if (!(event instanceof LoggingEvent)) {
+            return;
+        }
+        Map<String, String> contextualData = ContextualData.getAll();
+        if (contextualData == null || contextualData.isEmpty()) {
+            return;
+        }
+        Map<String, String> mdc = null;
+        for (String traceKey : TracingConfigHelper.TRACE_KEYS) {
+            String value = contextualData.get(traceKey);
+            if (value != null) {
+                if (mdc == null) {
+                    Map<String, String> current = MDC.getCopyOfContextMap();
+                    mdc = current != null ? current : new HashMap<>(4);
+                }
+                mdc.put(traceKey, value);
+            }
+        }
+        if (mdc != null) {
+            try {
+                ((LoggingEvent) event).setMDCPropertyMap(mdc);
+            } catch (IllegalStateException e) {
+                // MDC was already read by another appender, event keeps it
+                if (mdcAlreadyReadWarned.compareAndSet(false, true)) {
+                    addWarn("Trace context can not be added to MDC which was already read by another appender, "
+                        + "attach " + getClass().getSimpleName() + " before other appenders");
+                }
+            }
+        }
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public String getDropLevel() {
+        return dropLevel.toString();
+    }
+
+    public void setDropLevel(String dropLevel) {
+        this.dropLevel = Level.toLevel(dropLevel, Level.INFO);
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+}
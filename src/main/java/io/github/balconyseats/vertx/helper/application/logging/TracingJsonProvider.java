@@ -5,20 +5,30 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import io.github.balconyseats.vertx.helper.application.tracing.TracingConfigHelper;
 import io.reactiverse.contextual.logging.ContextualData;
 import net.logstash.logback.composite.AbstractJsonProvider;
-import net.logstash.logback.composite.JsonWritingUtils;
 
 import java.io.IOException;
+import java.util.Map;
 
+/**
+ * Writes 'traceId', 'spanId' and 'parentId' fields from contextual data of current Vert.x context. Contextual data
+ * map is read once per event. Events with trace context captured in MDC (see {@link TracingAsyncAppender}) are
+ * skipped, their fields are written by MDC provider.
+ */
 public class TracingJsonProvider extends AbstractJsonProvider<ILoggingEvent> {
 
     @Override
     public void writeTo(JsonGenerator jsonGenerator, ILoggingEvent iLoggingEvent) throws IOException {
+        Map<String, String> contextualData = ContextualData.getAll();
+        if (contextualData == null || contextualData.isEmpty()
+            || iLoggingEvent.getMDCPropertyMap().containsKey(TracingConfigHelper.TRACE_ID_KEY)) {
+            return;
+        }
         for (String traceKey : TracingConfigHelper.TRACE_KEYS) {
-            String val = ContextualData.get(traceKey);
+            String val = contextualData.get(traceKey);
             if (val != null) {
-                JsonWritingUtils.writeStringField(jsonGenerator, traceKey, val);
+                jsonGenerator.writeStringField(traceKey, val);
             }
         }
-
     }
+
 }
@@ -35,12 +35,24 @@ public class MetricsConfigHelper {
      * @param config configuration
      */
     public static void addMetricsHandler(Vertx vertx, Router router, JsonObject config) {
-        if (metricsEnabled(config) && prometheusEnabled(config)) {
-            String path = JsonObjectHelper.getString(CONFIG_METRICS_MICROMETER_PROMETHEUS_PATH, config, DEFAULT_METRICS_PATH);
+        String path = metricsPath(config);
+        if (path != null) {
             router.get(path).handler(PrometheusScrapingHandler.create());
         }
     }
 
+    /**
+     * Returns path of prometheus metrics route added by {@link #addMetricsHandler(Vertx, Router, JsonObject)}.
+     * @param config configuration
+     * @return metrics path or null when prometheus metrics are not enabled
+     */
+    public static String metricsPath(JsonObject config) {
+        if (metricsEnabled(config) && prometheusEnabled(config)) {
+            return JsonObjectHelper.getString(CONFIG_METRICS_MICROMETER_PROMETHEUS_PATH, config, DEFAULT_METRICS_PATH);
+        }
+        return null;
+    }
+
     /**
      * Creates metric options for Vertx instance.
      * @param config configuration
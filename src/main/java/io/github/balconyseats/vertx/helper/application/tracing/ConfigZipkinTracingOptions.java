@@ -0,0 +1,207 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import brave.Tracing;
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+import io.github.balconyseats.vertx.helper.application.metrics.MetricsConfigHelper;
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.tracing.TracingPolicy;
+import io.vertx.tracing.zipkin.HttpSenderOptions;
+import io.vertx.tracing.zipkin.VertxSender;
+import io.vertx.tracing.zipkin.ZipkinTracer;
+import io.vertx.tracing.zipkin.ZipkinTracingOptions;
+import zipkin2.reporter.AsyncReporter;
+import zipkin2.reporter.Sender;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zipkin tracing options with head and tail sampling, using configuration data:
+ *
+ * <pre>
+ *     tracing:
+ *       zipkin:
+ *         enabled: true
+ *         serviceName: 'serviceName'
+ *         endpoint: 'http://localhost:9411/api/v2/spans'
+ *         sampling:
+ *           probability: 0.1
+ *           rateLimit: 100
+ *           tail:
+ *             enabled: true
+ *             latencyThresholdMillis: 500
+ *         reporter:
+ *           messageMaxBytes: 524288
+ *           messageTimeoutMillis: 1000
+ *           queuedMaxSpans: 10000
+ *           queuedMaxBytes: 10485760
+ *           closeTimeoutMillis: 1000
+ * </pre>
+ *
+ * Head sampling decision is made when trace starts, 'probability' (0.0 - 1.0) samples that fraction of traces and
+ * 'rateLimit' samples up to that number of traces per second. Only one of them can be set, when none is set all
+ * traces are sampled.
+ * <p>
+ * With 'tail.enabled' spans of traces which are not sampled are still recorded locally, and reported when they fail
+ * or take longer than 'latencyThresholdMillis'. The decision is made per span when it finishes, so other spans of
+ * such trace are reported only if they fail or are slow too.
+ * </p>
+ * <p>
+ * Finished spans are queued and sent in batches from reporter thread, so a slow collector does not block the
+ * request path. Batch is sent when it reaches 'messageMaxBytes' or after 'messageTimeoutMillis' (flush interval).
+ * When queue exceeds 'queuedMaxSpans' or 'queuedMaxBytes', newly finished spans are dropped. Values which are not
+ * defined keep Zipkin reporter defaults. When 'metrics.micrometer.enabled' is true, reporter is measured with
+ * {@link MicrometerReporterMetrics}.
+ * </p>
+ */
+public class ConfigZipkinTracingOptions extends ZipkinTracingOptions {
+
+    public static final String CONFIG_TRACING_ZIPKIN_SAMPLING_PROBABILITY = "/tracing/zipkin/sampling/probability";
+    public static final String CONFIG_TRACING_ZIPKIN_SAMPLING_RATE_LIMIT = "/tracing/zipkin/sampling/rateLimit";
+    public static final String CONFIG_TRACING_ZIPKIN_SAMPLING_TAIL_ENABLED = "/tracing/zipkin/sampling/tail/enabled";
+    public static final String CONFIG_TRACING_ZIPKIN_SAMPLING_TAIL_LATENCY_THRESHOLD_MILLIS = "/tracing/zipkin/sampling/tail/latencyThresholdMillis";
+    public static final String CONFIG_TRACING_ZIPKIN_REPORTER_MESSAGE_MAX_BYTES = "/tracing/zipkin/reporter/messageMaxBytes";
+    public static final String CONFIG_TRACING_ZIPKIN_REPORTER_MESSAGE_TIMEOUT_MILLIS = "/tracing/zipkin/reporter/messageTimeoutMillis";
+    public static final String CONFIG_TRACING_ZIPKIN_REPORTER_QUEUED_MAX_SPANS = "/tracing/zipkin/reporter/queuedMaxSpans";
+    public static final String CONFIG_TRACING_ZIPKIN_REPORTER_QUEUED_MAX_BYTES = "/tracing/zipkin/reporter/queuedMaxBytes";
+    public static final String CONFIG_TRACING_ZIPKIN_REPORTER_CLOSE_TIMEOUT_MILLIS = "/tracing/zipkin/reporter/closeTimeoutMillis";
+
+    private final Double probability;
+    private final Integer rateLimit;
+    private final boolean tailEnabled;
+    private final long latencyThresholdMillis;
+    private final JsonObject config;
+    private final boolean metricsEnabled;
+
+    private ConfigZipkinTracingOptions(Double probability, Integer rateLimit, boolean tailEnabled, long latencyThresholdMillis,
+                                       JsonObject config, boolean metricsEnabled) {
+        this.probability = probability;
+        this.rateLimit = rateLimit;
+        this.tailEnabled = tailEnabled;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.config = config;
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    private ConfigZipkinTracingOptions(ConfigZipkinTracingOptions other) {
+        super(other);
+        this.probability = other.probability;
+        this.rateLimit = other.rateLimit;
+        this.tailEnabled = other.tailEnabled;
+        this.latencyThresholdMillis = other.latencyThresholdMillis;
+        this.config = other.config;
+        this.metricsEnabled = other.metricsEnabled;
+    }
+
+    /**
+     * Creates Zipkin tracing options from configuration.
+     * @param config configuration
+     * @return {@link ConfigZipkinTracingOptions} instance
+     */
+    public static ConfigZipkinTracingOptions create(JsonObject config) {
+        Double probability = JsonObjectHelper.getDouble(CONFIG_TRACING_ZIPKIN_SAMPLING_PROBABILITY, config);
+        Integer rateLimit = JsonObjectHelper.getInteger(CONFIG_TRACING_ZIPKIN_SAMPLING_RATE_LIMIT, config);
+        Long latencyThresholdMillis = JsonObjectHelper.getLong(CONFIG_TRACING_ZIPKIN_SAMPLING_TAIL_LATENCY_THRESHOLD_MILLIS, config, 0L);
+
+        if (probability != null && rateLimit != null) {
+            throw new IllegalConfigurationException("Only one of 'tracing.zipkin.sampling.probability' and 'tracing.zipkin.sampling.rateLimit' can be set");
+        }
+        if (probability != null && (probability < 0.0 || probability > 1.0)) {
+            throw new IllegalConfigurationException(String.format("Invalid sampling probability '%s', expected value between 0.0 and 1.0", probability));
+        }
+        if (rateLimit != null && rateLimit <= 0) {
+            throw new IllegalConfigurationException(String.format("Invalid sampling rate limit '%s', expected positive value", rateLimit));
+        }
+        if (latencyThresholdMillis < 0) {
+            throw new IllegalConfigurationException(String.format("Invalid tail sampling latency threshold '%s', expected positive value", latencyThresholdMillis));
+        }
+
+        for (String path : List.of(CONFIG_TRACING_ZIPKIN_REPORTER_MESSAGE_MAX_BYTES, CONFIG_TRACING_ZIPKIN_REPORTER_MESSAGE_TIMEOUT_MILLIS,
+            CONFIG_TRACING_ZIPKIN_REPORTER_QUEUED_MAX_SPANS, CONFIG_TRACING_ZIPKIN_REPORTER_QUEUED_MAX_BYTES,
+            CONFIG_TRACING_ZIPKIN_REPORTER_CLOSE_TIMEOUT_MILLIS)) {
+            Long value = JsonObjectHelper.getLong(path, config);
+            if (value != null && value < 0) {
+                throw new IllegalConfigurationException(String.format("Invalid value '%s' of '%s', expected positive value", value, path));
+            }
+        }
+
+        HttpSenderOptions senderOptions = new HttpSenderOptions()
+            .setSenderEndpoint(JsonObjectHelper.getString(TracingConfigHelper.CONFIG_TRACING_ZIPKIN_ENDPOINT, config));
+        senderOptions.setTracingPolicy(TracingPolicy.ALWAYS);
+
+        ConfigZipkinTracingOptions options = new ConfigZipkinTracingOptions(probability, rateLimit,
+            JsonObjectHelper.getBoolean(CONFIG_TRACING_ZIPKIN_SAMPLING_TAIL_ENABLED, config), latencyThresholdMillis,
+            config, JsonObjectHelper.getBoolean(MetricsConfigHelper.CONFIG_METRICS_MICROMETER_ENABLED, config));
+        options.setServiceName(JsonObjectHelper.getString(TracingConfigHelper.CONFIG_TRACING_ZIPKIN_SERVICE_NAME, config))
+            .setSenderOptions(senderOptions);
+        return options;
+    }
+
+    Sampler sampler() {
+        if (probability != null) {
+            return Sampler.create(probability.floatValue());
+        } else if (rateLimit != null) {
+            return RateLimitingSampler.create(rateLimit);
+        }
+        return Sampler.ALWAYS_SAMPLE;
+    }
+
+    @Override
+    public ZipkinTracer buildTracer() {
+        String serviceName = getServiceName();
+        VertxSender sender = new VertxSender(getSenderOptions());
+        AsyncReporter<zipkin2.Span> reporter = reporter(sender);
+
+        Tracing.Builder builder = Tracing.newBuilder()
+            .supportsJoin(isSupportsJoin())
+            .localServiceName(serviceName)
+            .spanReporter(reporter)
+            .sampler(sampler());
+        if (tailEnabled) {
+            builder.addFinishedSpanHandler(new TailSamplingSpanHandler(reporter, serviceName,
+                TimeUnit.MILLISECONDS.toMicros(latencyThresholdMillis)));
+        }
+        return new ZipkinTracer(true, builder.build(), sender);
+    }
+
+    AsyncReporter<zipkin2.Span> reporter(Sender sender) {
+        AsyncReporter.Builder builder;
+        if (metricsEnabled) {
+            MicrometerReporterMetrics metrics = MicrometerReporterMetrics.instance();
+            builder = AsyncReporter.builder(new MeteredSender(sender, metrics)).metrics(metrics);
+        } else {
+            builder = AsyncReporter.builder(sender);
+        }
+
+        Integer messageMaxBytes = JsonObjectHelper.getInteger(CONFIG_TRACING_ZIPKIN_REPORTER_MESSAGE_MAX_BYTES, config);
+        if (messageMaxBytes != null) {
+            builder.messageMaxBytes(messageMaxBytes);
+        }
+        Long messageTimeout = JsonObjectHelper.getLong(CONFIG_TRACING_ZIPKIN_REPORTER_MESSAGE_TIMEOUT_MILLIS, config);
+        if (messageTimeout != null) {
+            builder.messageTimeout(messageTimeout, TimeUnit.MILLISECONDS);
+        }
+        Integer queuedMaxSpans = JsonObjectHelper.getInteger(CONFIG_TRACING_ZIPKIN_REPORTER_QUEUED_MAX_SPANS, config);
+        if (queuedMaxSpans != null) {
+            builder.queuedMaxSpans(queuedMaxSpans);
+        }
+        Integer queuedMaxBytes = JsonObjectHelper.getInteger(CONFIG_TRACING_ZIPKIN_REPORTER_QUEUED_MAX_BYTES, config);
+        if (queuedMaxBytes != null) {
+            builder.queuedMaxBytes(queuedMaxBytes);
+        }
+        Long closeTimeout = JsonObjectHelper.getLong(CONFIG_TRACING_ZIPKIN_REPORTER_CLOSE_TIMEOUT_MILLIS, config);
+        if (closeTimeout != null) {
+            builder.closeTimeout(closeTimeout, TimeUnit.MILLISECONDS);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ConfigZipkinTracingOptions copy() {
+        return new ConfigZipkinTracingOptions(this);
+    }
+
+}
@@ -0,0 +1,63 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import zipkin2.Call;
+import zipkin2.CheckResult;
+import zipkin2.codec.Encoding;
+import zipkin2.reporter.Sender;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sender which counts spans of successfully sent batches, reporter metrics only count queued and dropped spans.
+ */
+class MeteredSender extends Sender {
+
+    private final Sender delegate;
+    private final MicrometerReporterMetrics metrics;
+
+    MeteredSender(Sender delegate, MicrometerReporterMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Encoding encoding() {
+        return delegate.encoding();
+    }
+
+    @Override
+    public int messageMaxBytes() {
+        return delegate.messageMaxBytes();
+    }
+
+    @Override
+    public int messageSizeInBytes(List<byte[]> encodedSpans) {
+        return delegate.messageSizeInBytes(encodedSpans);
+    }
+
+    @Override
+    public int messageSizeInBytes(int encodedSizeInBytes) {
+        return delegate.messageSizeInBytes(encodedSizeInBytes);
+    }
+
+    @Override
+    public Call<Void> sendSpans(List<byte[]> encodedSpans) {
+        int count = encodedSpans.size();
+        return delegate.sendSpans(encodedSpans).map(v -> {
+            metrics.incrementSpansSent(count);
+            return v;
+        });
+    }
+
+    @Override
+    public CheckResult check() {
+        return delegate.check();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.micrometer.backends.BackendRegistries;
+import zipkin2.reporter.ReporterMetrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Zipkin span reporter metrics backed by Micrometer {@link MeterRegistry}:
+ * <ul>
+ *     <li>'zipkin.reporter.spans' - counter tagged by 'result' (reported, sent, dropped)</li>
+ *     <li>'zipkin.reporter.messages' - counter of span batches tagged by 'result' (sent, dropped)</li>
+ *     <li>'zipkin.reporter.queue.spans' and 'zipkin.reporter.queue.bytes' - gauges of spans waiting to be sent</li>
+ * </ul>
+ * Tracer can be created before Vert.x metrics registry, so meters are registered when registry becomes available.
+ * Counts recorded before that are kept and added to counters when they are registered, on the next recorded count.
+ */
+public class MicrometerReporterMetrics implements ReporterMetrics {
+
+    public static final String SPANS_COUNTER = "zipkin.reporter.spans";
+    public static final String MESSAGES_COUNTER = "zipkin.reporter.messages";
+    public static final String QUEUE_SPANS_GAUGE = "zipkin.reporter.queue.spans";
+    public static final String QUEUE_BYTES_GAUGE = "zipkin.reporter.queue.bytes";
+
+    private static final int SPANS_REPORTED = 0;
+    private static final int SPANS_SENT = 1;
+    private static final int SPANS_DROPPED = 2;
+    private static final int MESSAGES_SENT = 3;
+    private static final int MESSAGES_DROPPED = 4;
+
+    private final Supplier<MeterRegistry> registrySupplier;
+    // counts recorded while registry is not available, by counter index
+    private final AtomicLongArray pending = new AtomicLongArray(5);
+    private final AtomicInteger queuedSpans = new AtomicInteger();
+    private final AtomicInteger queuedBytes = new AtomicInteger();
+
+    private volatile Meters meters;
+
+    public MicrometerReporterMetrics(Supplier<MeterRegistry> registrySupplier) {
+        this.registrySupplier = registrySupplier;
+    }
+
+    /**
+     * @return metrics registered to Vert.x default backend registry
+     */
+    public static MicrometerReporterMetrics instance() {
+        return new MicrometerReporterMetrics(BackendRegistries::getDefaultNow);
+    }
+
+    @Override
+    public void incrementMessages() {
+        increment(MESSAGES_SENT, 1);
+    }
+
+    @Override
+    public void incrementMessagesDropped(Throwable cause) {
+        increment(MESSAGES_DROPPED, 1);
+    }
+
+    @Override
+    public void incrementSpans(int quantity) {
+        increment(SPANS_REPORTED, quantity);
+    }
+
+    @Override
+    public void incrementSpanBytes(int quantity) {
+    }
+
+    @Override
+    public void incrementMessageBytes(int quantity) {
+    }
+
+    @Override
+    public void incrementSpansDropped(int quantity) {
+        increment(SPANS_DROPPED, quantity);
+    }
+
+    @Override
+    public void updateQueuedSpans(int update) {
+        queuedSpans.set(update);
+    }
+
+    @Override
+    public void updateQueuedBytes(int update) {
+        queuedBytes.set(update);
+    }
+
+    void incrementSpansSent(int quantity) {
+        increment(SPANS_SENT, quantity);
+    }
+
+    private void increment(int counter, int quantity) {
+        Meters m = meters();
+        if (m != null) {
+            m.counters[counter].increment(quantity);
+            return;
+        }
+        pending.addAndGet(counter, quantity);
+        // meters may have been registered by another thread after the check
+        m = this.meters;
+        if (m != null) {
+            m.addPending();
+        }
+    }
+
+    private Meters meters() {
+        Meters m = this.meters;
+        if (m == null) {
+            MeterRegistry registry = registrySupplier.get();
+            if (registry == null) {
+                return null;
+            }
+            synchronized (this) {
+                m = this.meters;
+                if (m == null) {
+                    m = new Meters(registry);
+                    this.meters = m;
+                    m.addPending();
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Meters registered once, so recording does not look up registry.
+     */
+    private class Meters {
+        private final Counter[] counters = new Counter[pending.length()];
+
+        private Meters(MeterRegistry registry) {
+            counters[SPANS_REPORTED] = counter(registry, SPANS_COUNTER, "reported");
+            counters[SPANS_SENT] = counter(registry, SPANS_COUNTER, "sent");
+            counters[SPANS_DROPPED] = counter(registry, SPANS_COUNTER, "dropped");
+            counters[MESSAGES_SENT] = counter(registry, MESSAGES_COUNTER, "sent");
+            counters[MESSAGES_DROPPED] = counter(registry, MESSAGES_COUNTER, "dropped");
+            Gauge.builder(QUEUE_SPANS_GAUGE, queuedSpans, AtomicInteger::get).register(registry);
+            Gauge.builder(QUEUE_BYTES_GAUGE, queuedBytes, AtomicInteger::get).baseUnit("bytes").register(registry);
+        }
+
+        private void addPending() {
+            for (int i = 0; i < counters.length; i++) {
+                long count = pending.getAndSet(i, 0);
+                if (count > 0) {
+                    counters[i].increment(count);
+                }
+            }
+        }
+
+        private Counter counter(MeterRegistry registry, String name, String result) {
+            return Counter.builder(name)
+                .tag("result", result)
+                .register(registry);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import brave.handler.FinishedSpanHandler;
+import brave.handler.MutableSpan;
+import brave.propagation.TraceContext;
+import zipkin2.Endpoint;
+import zipkin2.Span;
+import zipkin2.reporter.Reporter;
+
+/**
+ * Reports spans which were not sampled by head sampler, but failed or took longer than latency threshold.
+ * Sampled spans are reported by tracing span reporter.
+ */
+class TailSamplingSpanHandler extends FinishedSpanHandler {
+
+    private static final String ERROR_TAG = "error";
+
+    private final Reporter<Span> reporter;
+    private final String serviceName;
+    private final long latencyThresholdMicros;
+
+    TailSamplingSpanHandler(Reporter<Span> reporter, String serviceName, long latencyThresholdMicros) {
+        this.reporter = reporter;
+        this.serviceName = serviceName;
+        this.latencyThresholdMicros = latencyThresholdMicros;
+    }
+
+    @Override
+    public boolean handle(TraceContext context, MutableSpan span) {
+        if (!Boolean.TRUE.equals(context.sampled()) && shouldKeep(span)) {
+            reporter.report(toZipkinSpan(context, span));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean alwaysSampleLocal() {
+        // record spans of not sampled traces, so they can be reported when they fail or are slow
+        return true;
+    }
+
+    boolean shouldKeep(MutableSpan span) {
+        if (span.error() != null || span.tag(ERROR_TAG) != null) {
+            return true;
+        }
+        return latencyThresholdMicros > 0
+            && span.startTimestamp() != 0L
+            && span.finishTimestamp() - span.startTimestamp() >= latencyThresholdMicros;
+    }
+
+    private Span toZipkinSpan(TraceContext context, MutableSpan span) {
+        Span.Builder builder = Span.newBuilder()
+            .traceId(context.traceIdString())
+            .parentId(context.parentIdString())
+            .id(context.spanIdString())
+            .name(span.name())
+            .debug(context.debug())
+            .shared(span.shared());
+
+        if (span.kind() != null) {
+            builder.kind(Span.Kind.valueOf(span.kind().name()));
+        }
+        if (span.startTimestamp() != 0L) {
+            builder.timestamp(span.startTimestamp());
+            if (span.finishTimestamp() != 0L) {
+                builder.duration(Math.max(1L, span.finishTimestamp() - span.startTimestamp()));
+            }
+        }
+
+        builder.localEndpoint(Endpoint.newBuilder()
+            .serviceName(span.localServiceName() != null ? span.localServiceName() : serviceName)
+            .ip(span.localIp())
+            .port(span.localPort())
+            .build());
+        if (span.remoteServiceName() != null || span.remoteIp() != null) {
+            builder.remoteEndpoint(Endpoint.newBuilder()
+                .serviceName(span.remoteServiceName())
+                .ip(span.remoteIp())
+                .port(span.remotePort())
+                .build());
+        }
+
+        span.forEachTag(Span.Builder::putTag, builder);
+        span.forEachAnnotation(Span.Builder::addAnnotation, builder);
+        if (span.error() != null && span.tag(ERROR_TAG) == null) {
+            String message = span.error().getMessage();
+            builder.putTag(ERROR_TAG, message != null ? message : span.error().getClass().getSimpleName());
+        }
+        return builder.build();
+    }
+
+}
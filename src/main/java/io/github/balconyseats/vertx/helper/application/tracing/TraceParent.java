@@ -0,0 +1,120 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+/**
+ * W3C trace context 'traceparent' header value, e.g. '00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01'.
+ * <p>
+ * Trace and span ids shorter than 32 and 16 characters (e.g. 64-bit Zipkin trace ids) are left padded with zeros
+ * when formatted. When parsed, trace id with upper 64 bits set to zero is returned as 16 characters, so it matches
+ * the id used in logs of the originating service. All-zero ids are invalid, as are version '00' values with extra
+ * characters.
+ * </p>
+ */
+public class TraceParent {
+
+    public static final String HEADER = "traceparent";
+
+    private static final String VERSION = "00";
+    static final int TRACE_ID_LENGTH = 32;
+    static final int SPAN_ID_LENGTH = 16;
+    private static final int LENGTH = 55;
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    private TraceParent(String traceId, String spanId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    public String spanId() {
+        return spanId;
+    }
+
+    public boolean sampled() {
+        return sampled;
+    }
+
+    /**
+     * Formats 'traceparent' header value.
+     *
+     * @param traceId lower case hex trace id, up to 32 characters
+     * @param spanId  lower case hex span id, up to 16 characters
+     * @param sampled sampled flag
+     * @return header value or null when ids are not valid hex ids or are all zeros
+     */
+    public static String format(String traceId, String spanId, boolean sampled) {
+        if (!isValidId(traceId, TRACE_ID_LENGTH) || !isValidId(spanId, SPAN_ID_LENGTH)) {
+            return null;
+        }
+        char[] value = new char[LENGTH];
+        int pos = 0;
+        value[pos++] = '0';
+        value[pos++] = '0';
+        value[pos++] = '-';
+        pos = writePadded(value, pos, traceId, TRACE_ID_LENGTH);
+        value[pos++] = '-';
+        pos = writePadded(value, pos, spanId, SPAN_ID_LENGTH);
+        value[pos++] = '-';
+        value[pos++] = '0';
+        value[pos] = sampled ? '1' : '0';
+        return new String(value);
+    }
+
+    /**
+     * Parses 'traceparent' header value.
+     *
+     * @param value header value
+     * @return parsed value or null when value is not valid
+     */
+    public static TraceParent parse(String value) {
+        if (value == null || value.length() != LENGTH || !value.startsWith(VERSION)
+            || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return null;
+        }
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        int flags = Character.digit(value.charAt(54), 16);
+        if (!isValidId(traceId, TRACE_ID_LENGTH) || !isValidId(spanId, SPAN_ID_LENGTH)
+            || Character.digit(value.charAt(53), 16) == -1 || flags == -1) {
+            return null;
+        }
+        if (traceId.startsWith("0000000000000000")) {
+            traceId = traceId.substring(16);
+        }
+        boolean sampled = (flags & 1) == 1;
+        return new TraceParent(traceId, spanId, sampled);
+    }
+
+    private static int writePadded(char[] value, int pos, String id, int length) {
+        for (int i = id.length(); i < length; i++) {
+            value[pos++] = '0';
+        }
+        id.getChars(0, id.length(), value, pos);
+        return pos + id.length();
+    }
+
+    /**
+     * @return true when id is lower case hex of at most max length and is not all zeros
+     */
+    static boolean isValidId(String id, int maxLength) {
+        if (id == null || id.isEmpty() || id.length() > maxLength) {
+            return false;
+        }
+        boolean zero = true;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+            zero &= c == '0';
+        }
+        return !zero;
+    }
+
+}
@@ -0,0 +1,207 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.reactiverse.contextual.logging.ContextualData;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.impl.ClientPhase;
+import io.vertx.ext.web.client.impl.WebClientInternal;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Propagates trace context in W3C trace context ('traceparent', 'tracestate') or B3 single ('b3') headers without
+ * creating spans. Extracted trace and span ids are set as contextual logging data, and injected from contextual data
+ * of current context. Configuration data:
+ *
+ * <pre>
+ *     tracing:
+ *       propagation:
+ *         enabled: true
+ *         format: 'w3c'
+ * </pre>
+ *
+ * 'format' ('w3c' or 'b3', default 'w3c') is used for injected headers, both formats are accepted when extracting.
+ * Received sampling decision is kept in contextual data ({@link TracingConfigHelper#SAMPLED_KEY}) and injected as it
+ * was received. When it is unknown, B3 header is sent without sampling state and 'traceparent' with sampled flag
+ * unset, so downstream service makes its own decision.
+ * <p>
+ * Propagation is applied to {@link io.github.balconyseats.vertx.helper.http.HttpServerVerticle} requests, to web
+ * clients wrapped with {@link #propagate(WebClient)} and to Kafka records using
+ * {@link io.github.balconyseats.vertx.helper.kafka.KafkaHelper}.
+ * </p>
+ */
+public class TracePropagation {
+
+    public static final String CONFIG_TRACING_PROPAGATION_ENABLED = "/tracing/propagation/enabled";
+    public static final String CONFIG_TRACING_PROPAGATION_FORMAT = "/tracing/propagation/format";
+
+    public static final String FORMAT_W3C = "w3c";
+    public static final String FORMAT_B3 = "b3";
+
+    public static final String TRACESTATE_HEADER = "tracestate";
+    public static final String B3_HEADER = "b3";
+
+    /**
+     * Contextual data key of W3C 'tracestate' value, so it is passed on to downstream services.
+     */
+    public static final String TRACE_STATE_KEY = "traceState";
+
+    private final boolean b3;
+
+    public TracePropagation(String format) {
+        if (FORMAT_W3C.equals(format)) {
+            this.b3 = false;
+        } else if (FORMAT_B3.equals(format)) {
+            this.b3 = true;
+        } else {
+            throw new IllegalConfigurationException(String.format("Unknown trace propagation format '%s', expected '%s' or '%s'",
+                format, FORMAT_W3C, FORMAT_B3));
+        }
+    }
+
+    /**
+     * Creates trace propagation from configuration.
+     * @param config configuration
+     * @return {@link TracePropagation} instance or null when propagation is not enabled
+     */
+    public static TracePropagation create(JsonObject config) {
+        if (!isEnabled(config)) {
+            return null;
+        }
+        return new TracePropagation(JsonObjectHelper.getString(CONFIG_TRACING_PROPAGATION_FORMAT, config, FORMAT_W3C));
+    }
+
+    public static boolean isEnabled(JsonObject config) {
+        return JsonObjectHelper.getBoolean(CONFIG_TRACING_PROPAGATION_ENABLED, config);
+    }
+
+    /**
+     * Sets contextual data from trace headers.
+     * @param headers header value by header name
+     */
+    public void extract(Function<String, String> headers) {
+        TraceParent traceParent = TraceParent.parse(headers.apply(TraceParent.HEADER));
+        if (traceParent != null) {
+            ContextualData.put(TracingConfigHelper.TRACE_ID_KEY, traceParent.traceId());
+            ContextualData.put(TracingConfigHelper.SPAN_ID_KEY, traceParent.spanId());
+            ContextualData.put(TracingConfigHelper.SAMPLED_KEY,
+                traceParent.sampled() ? TracingConfigHelper.SAMPLED : TracingConfigHelper.NOT_SAMPLED);
+            String traceState = headers.apply(TRACESTATE_HEADER);
+            if (traceState != null) {
+                ContextualData.put(TRACE_STATE_KEY, traceState);
+            }
+            return;
+        }
+        String b3Value = headers.apply(B3_HEADER);
+        if (b3Value != null) {
+            extractB3(b3Value);
+        }
+    }
+
+    /**
+     * Adds trace headers from contextual data, headers are not added when there is no active trace or its ids are
+     * not valid in configured format.
+     * @param headers header name and value consumer
+     */
+    public void inject(BiConsumer<String, String> headers) {
+        String traceId = ContextualData.get(TracingConfigHelper.TRACE_ID_KEY);
+        if (traceId == null) {
+            return;
+        }
+        String spanId = ContextualData.get(TracingConfigHelper.SPAN_ID_KEY);
+        if (spanId == null) {
+            return;
+        }
+        String sampled = ContextualData.get(TracingConfigHelper.SAMPLED_KEY);
+        if (b3) {
+            if (isB3TraceId(traceId) && isB3SpanId(spanId)) {
+                headers.accept(B3_HEADER, sampled == null ? traceId + '-' + spanId : traceId + '-' + spanId + '-' + sampled);
+            }
+        } else {
+            String traceParent = TraceParent.format(traceId, spanId, TracingConfigHelper.SAMPLED.equals(sampled));
+            if (traceParent != null) {
+                headers.accept(TraceParent.HEADER, traceParent);
+                String traceState = ContextualData.get(TRACE_STATE_KEY);
+                if (traceState != null) {
+                    headers.accept(TRACESTATE_HEADER, traceState);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds interceptor which injects trace headers to all requests of web client.
+     * @param webClient web client
+     * @return the same web client
+     */
+    public WebClient propagate(WebClient webClient) {
+        ((WebClientInternal) webClient).addInterceptor(ctx -> {
+            if (ctx.phase() == ClientPhase.PREPARE_REQUEST) {
+                inject(ctx.request()::putHeader);
+            }
+            ctx.next();
+        });
+        return webClient;
+    }
+
+    private static void extractB3(String value) {
+        // {traceId}-{spanId}-{samplingState}-{parentSpanId}, or only sampling state
+        String[] fields = value.split("-", -1);
+        if (fields.length < 2 || fields.length > 4) {
+            return;
+        }
+        String traceId = fields[0];
+        String spanId = fields[1];
+        if (!isB3TraceId(traceId) || !isB3SpanId(spanId)) {
+            return;
+        }
+        String sampled = null;
+        if (fields.length > 2) {
+            sampled = b3Sampled(fields[2]);
+            if (sampled == null) {
+                return;
+            }
+        }
+        String parentId = null;
+        if (fields.length > 3) {
+            parentId = fields[3];
+            if (!isB3SpanId(parentId)) {
+                return;
+            }
+        }
+        ContextualData.put(TracingConfigHelper.TRACE_ID_KEY, traceId);
+        ContextualData.put(TracingConfigHelper.SPAN_ID_KEY, spanId);
+        if (sampled != null) {
+            ContextualData.put(TracingConfigHelper.SAMPLED_KEY, sampled);
+        }
+        if (parentId != null) {
+            ContextualData.put(TracingConfigHelper.PARENT_ID_KEY, parentId);
+        }
+    }
+
+    private static boolean isB3TraceId(String id) {
+        return (id.length() == TraceParent.SPAN_ID_LENGTH || id.length() == TraceParent.TRACE_ID_LENGTH)
+            && TraceParent.isValidId(id, TraceParent.TRACE_ID_LENGTH);
+    }
+
+    private static boolean isB3SpanId(String id) {
+        return id.length() == TraceParent.SPAN_ID_LENGTH && TraceParent.isValidId(id, TraceParent.SPAN_ID_LENGTH);
+    }
+
+    private static String b3Sampled(String samplingState) {
+        switch (samplingState) {
+            case "1":
+            case "d":
+                // debug implies sampled
+                return TracingConfigHelper.SAMPLED;
+            case "0":
+                return TracingConfigHelper.NOT_SAMPLED;
+            default:
+                return null;
+        }
+    }
+
+}
@@ -1,19 +1,19 @@
 package io.github.balconyseats.vertx.helper.application.tracing;
 
+import brave.propagation.TraceContext;
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
 import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
 import io.opentracing.Span;
+import io.opentracing.SpanContext;
 import io.reactiverse.contextual.logging.ContextualData;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryContext;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.tracing.TracingOptions;
-import io.vertx.core.tracing.TracingPolicy;
 import io.vertx.tracing.opentracing.OpenTracingOptions;
 import io.vertx.tracing.opentracing.OpenTracingUtil;
-import io.vertx.tracing.zipkin.HttpSenderOptions;
 import io.vertx.tracing.zipkin.ZipkinTracer;
-import io.vertx.tracing.zipkin.ZipkinTracingOptions;
-
-import java.util.Optional;
 
 /**
  * Helper for tracing configuration.
@@ -28,6 +28,8 @@ import java.util.Optional;
  *         endpoint: 'http://localhost:8082
  *       opentracing:
  *         enabled: true
+ *       eventbus:
+ *         propagation: 'headers'
  * </pre>
  */
 public class TracingConfigHelper {
@@ -37,25 +39,32 @@ public class TracingConfigHelper {
     public static final String PARENT_ID_KEY = "parentId";
     public static final String[] TRACE_KEYS = new String[] {TRACE_ID_KEY, SPAN_ID_KEY, PARENT_ID_KEY};
 
+    /**
+     * Contextual data key of sampling decision received with trace ids ('1' sampled, '0' not sampled), it is not
+     * logged. Propagated headers carry the same decision, it is not set when the decision is unknown.
+     */
+    public static final String SAMPLED_KEY = "sampled";
+    public static final String SAMPLED = "1";
+    public static final String NOT_SAMPLED = "0";
+
     public static final String CONFIG_TRACING_ZIPKIN_ENABLED = "/tracing/zipkin/enabled";
     public static final String CONFIG_TRACING_ZIPKIN_ENDPOINT = "/tracing/zipkin/endpoint";
     public static final String CONFIG_TRACING_ZIPKIN_SERVICE_NAME = "/tracing/zipkin/serviceName";
     public static final String CONFIG_TRACING_OPENTRACING_ENABLED = "/tracing/opentracing/enabled";
+    public static final String CONFIG_TRACING_EVENTBUS_PROPAGATION = "/tracing/eventbus/propagation";
+
+    public static final String EVENTBUS_PROPAGATION_HEADERS = "headers";
+    public static final String EVENTBUS_PROPAGATION_TRACEPARENT = "traceparent";
 
     /**
-     * Creates tracing options for {@link Vertx} instance.
+     * Creates tracing options for {@link Vertx} instance, Zipkin sampling is configured with
+     * {@link ConfigZipkinTracingOptions}.
      * @param config configuration
      * @return {@link TracingOptions} instance
      */
     public static TracingOptions createTracingOptions(JsonObject config) {
         if (isZipkinEnabled(config)) {
-            final HttpSenderOptions httpSenderOptions = new HttpSenderOptions()
-                .setSenderEndpoint( JsonObjectHelper.getString(CONFIG_TRACING_ZIPKIN_ENDPOINT, config));
-            httpSenderOptions.setTracingPolicy(TracingPolicy.ALWAYS);
-
-            return new ZipkinTracingOptions()
-                .setServiceName(JsonObjectHelper.getString(CONFIG_TRACING_ZIPKIN_SERVICE_NAME, config))
-                .setSenderOptions(httpSenderOptions);
+            return ConfigZipkinTracingOptions.create(config);
         } else if (isOpenTracindEnabled(config)) {
             return new OpenTracingOptions();
         }
@@ -64,54 +73,148 @@ public class TracingConfigHelper {
 
     /**
      * Propagates contextual data over the EventBus using interceptors.
+     * <p>
+     * With 'tracing.eventbus.propagation: traceparent' trace and span ids are sent in single W3C 'traceparent' header
+     * instead of one header per trace key, sampling decision is carried in its flags and parent id is not propagated
+     * in this mode. Inbound interceptor accepts
+     * both formats. Messages are not changed when there is no active trace. Interceptors are added when tracing or
+     * trace propagation (see {@link TracePropagation}) is enabled.
+     * </p>
      * @param vertx {@link Vertx} instance
      * @param config configuration
      */
     public static void contextualDataForEventBus(Vertx vertx, JsonObject config) {
         // Propagate contextual data over the EventBus using interceptors.
         // https://reactiverse.io/reactiverse-contextual-logging/#_propagation
-        if (isZipkinEnabled(config) || isOpenTracindEnabled(config)) {
-            vertx.eventBus().addOutboundInterceptor(event -> {
-                for (String traceKey : TRACE_KEYS) {
-                    String val = ContextualData.get(traceKey);
-                    if (val != null) {
-                        event.message().headers().add(traceKey, val);
-                    }
-                }
-                event.next();
-            });
+        if (tracingBackend(config) == TracingBackend.NONE && !TracePropagation.isEnabled(config)) {
+            return;
+        }
+        String propagation = JsonObjectHelper.getString(CONFIG_TRACING_EVENTBUS_PROPAGATION, config, EVENTBUS_PROPAGATION_HEADERS);
+        if (EVENTBUS_PROPAGATION_TRACEPARENT.equals(propagation)) {
+            vertx.eventBus().addOutboundInterceptor(TracingConfigHelper::injectTraceParent);
+        } else if (EVENTBUS_PROPAGATION_HEADERS.equals(propagation)) {
+            vertx.eventBus().addOutboundInterceptor(TracingConfigHelper::injectTraceHeaders);
+        } else {
+            throw new IllegalConfigurationException(String.format("Unknown event bus propagation '%s', expected '%s' or '%s'",
+                propagation, EVENTBUS_PROPAGATION_HEADERS, EVENTBUS_PROPAGATION_TRACEPARENT));
+        }
+        vertx.eventBus().addInboundInterceptor(TracingConfigHelper::extractTrace);
+    }
 
-            vertx.eventBus().addInboundInterceptor(event -> {
+    private static void injectTraceHeaders(DeliveryContext<Object> event) {
+        String traceId = ContextualData.get(TRACE_ID_KEY);
+        if (traceId != null) {
+            MultiMap headers = event.message().headers();
+            headers.add(TRACE_ID_KEY, traceId);
+            addIfNotNull(headers, SPAN_ID_KEY, ContextualData.get(SPAN_ID_KEY));
+            addIfNotNull(headers, PARENT_ID_KEY, ContextualData.get(PARENT_ID_KEY));
+            addIfNotNull(headers, SAMPLED_KEY, ContextualData.get(SAMPLED_KEY));
+        }
+        event.next();
+    }
+
+    private static void injectTraceParent(DeliveryContext<Object> event) {
+        String traceId = ContextualData.get(TRACE_ID_KEY);
+        if (traceId != null) {
+            String spanId = ContextualData.get(SPAN_ID_KEY);
+            String sampled = ContextualData.get(SAMPLED_KEY);
+            String traceParent = TraceParent.format(traceId, spanId, SAMPLED.equals(sampled));
+            if (traceParent != null) {
+                event.message().headers().add(TraceParent.HEADER, traceParent);
+            } else {
+                // ids which are not W3C compatible are sent as they are, without sampling decision
+                MultiMap headers = event.message().headers();
+                headers.add(TRACE_ID_KEY, traceId);
+                addIfNotNull(headers, SPAN_ID_KEY, spanId);
+            }
+        }
+        event.next();
+    }
+
+    private static void extractTrace(DeliveryContext<Object> event) {
+        MultiMap headers = event.message().headers();
+        if (!headers.isEmpty()) {
+            TraceParent traceParent = TraceParent.parse(headers.get(TraceParent.HEADER));
+            if (traceParent != null) {
+                ContextualData.put(TRACE_ID_KEY, traceParent.traceId());
+                ContextualData.put(SPAN_ID_KEY, traceParent.spanId());
+                ContextualData.put(SAMPLED_KEY, traceParent.sampled() ? SAMPLED : NOT_SAMPLED);
+            } else {
                 for (String traceKey : TRACE_KEYS) {
-                    String val = event.message().headers().get(traceKey);
-                    if (val != null) {
-                        ContextualData.put(traceKey, val);
-                    }
+                    setIfNotNull(traceKey, headers.get(traceKey));
                 }
-                event.next();
-            });
+                setIfNotNull(SAMPLED_KEY, headers.get(SAMPLED_KEY));
+            }
         }
+        event.next();
     }
 
     /**
-     * Sets contextual data for logging based on configuration.
+     * Tracing backend enabled in configuration.
+     */
+    public enum TracingBackend {
+        ZIPKIN, OPENTRACING, NONE
+    }
+
+    /**
+     * Resolves tracing backend from configuration, Zipkin has precedence over OpenTracing.
      * @param config configuration object
+     * @return enabled {@link TracingBackend}, {@link TracingBackend#NONE} when tracing is disabled
      */
-    public static void setContextualData(JsonObject config) {
+    public static TracingBackend tracingBackend(JsonObject config) {
         if (isZipkinEnabled(config)) {
-            Optional.ofNullable(ZipkinTracer.activeContext())
-                .ifPresent(tc -> {
-                    setIfNotNull(TRACE_ID_KEY, tc.traceIdString());
-                    setIfNotNull(SPAN_ID_KEY, tc.spanIdString());
-                    setIfNotNull(PARENT_ID_KEY, tc.parentIdString());
-                });
+            return TracingBackend.ZIPKIN;
         } else if (isOpenTracindEnabled(config)) {
-            Optional.ofNullable(OpenTracingUtil.getSpan())
-                .map(Span::context)
-                .ifPresent(c -> {
-                    setIfNotNull(TRACE_ID_KEY, c.toTraceId());
-                    setIfNotNull(SPAN_ID_KEY, c.toSpanId());
-                });
+            return TracingBackend.OPENTRACING;
+        }
+        return TracingBackend.NONE;
+    }
+
+    /**
+     * Sets contextual data for logging based on configuration.
+     * @param config configuration object
+     */
+    public static void setContextualData(JsonObject config) {
+        setContextualData(tracingBackend(config));
+    }
+
+    /**
+     * Sets contextual data for logging from active trace of given backend.
+     * @param backend tracing backend
+     */
+    public static void setContextualData(TracingBackend backend) {
+        if (backend == TracingBackend.ZIPKIN) {
+            setZipkinContextualData();
+        } else if (backend == TracingBackend.OPENTRACING) {
+            setOpenTracingContextualData();
+        }
+    }
+
+    /**
+     * Sets contextual data for logging from active Zipkin trace context.
+     */
+    public static void setZipkinContextualData() {
+        TraceContext tc = ZipkinTracer.activeContext();
+        if (tc != null) {
+            setIfNotNull(TRACE_ID_KEY, tc.traceIdString());
+            setIfNotNull(SPAN_ID_KEY, tc.spanIdString());
+            setIfNotNull(PARENT_ID_KEY, tc.parentIdString());
+            Boolean sampled = tc.sampled();
+            if (sampled != null) {
+                ContextualData.put(SAMPLED_KEY, sampled ? SAMPLED : NOT_SAMPLED);
+            }
+        }
+    }
+
+    /**
+     * Sets contextual data for logging from active OpenTracing span.
+     */
+    public static void setOpenTracingContextualData() {
+        Span span = OpenTracingUtil.getSpan();
+        if (span != null) {
+            SpanContext c = span.context();
+            setIfNotNull(TRACE_ID_KEY, c.toTraceId());
+            setIfNotNull(SPAN_ID_KEY, c.toSpanId());
         }
     }
 
@@ -123,6 +226,12 @@ public class TracingConfigHelper {
         return JsonObjectHelper.getBoolean(CONFIG_TRACING_ZIPKIN_ENABLED, config);
     }
 
+    private static void addIfNotNull(MultiMap headers, String key, String value) {
+        if (value != null) {
+            headers.add(key, value);
+        }
+    }
+
     private static void setIfNotNull(String key, String value) {
         if (value != null) {
             ContextualData.put(key, value);
@@ -4,17 +4,24 @@ import io.github.balconyseats.vertx.helper.http.HttpStatusCode;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.impl.CloseFuture;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.ProxyOptions;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
 import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.NoSuchKeyIdException;
 import io.vertx.ext.auth.PubSecKeyOptions;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.Credentials;
 import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.auth.impl.jose.JWK;
-import io.vertx.ext.auth.impl.jose.JWT;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
@@ -26,6 +33,7 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 
@@ -33,6 +41,10 @@ import java.util.function.Function;
  * Validate jwt using configuration:
  *
  * <pre>
+ *     token-cache:
+ *       enabled: true
+ *       size: 10000
+ *       maxTimeToLiveSeconds: 300
  *     clients:
  *       - issuer: jwks-uri-client
  *         jwks-uri:
@@ -40,9 +52,14 @@ import java.util.function.Function;
  *           proxy:
  *             host: 'localhost'`
  *             port: 8081
+ *           connectTimeoutMillis: 5000
+ *           readTimeoutMillis: 10000
+ *           maxPoolSize: 2
  *           cache:
- *             size: 2
  *             timeToLiveSeconds: 3600
+ *             refreshIntervalSeconds: 2880
+ *             maxStaleSeconds: 86400
+ *             minReloadIntervalSeconds: 30
  *       - issuer: jwks-pem-client
  *         jwks:
  *           - key-id: jwks-jwk-client-key-id
@@ -62,23 +79,89 @@ import java.util.function.Function;
  * On success authentication return {@link User}
  * with principal contains all attributes from JWT and plain jwt token in attribute 'access_token'
  * </p>
+ * <p>
+ * Resolved verifiers are cached per issuer. Issuers configured with 'jwks' are resolved once, issuers configured with
+ * 'jwks-uri' are kept for 'cache.timeToLiveSeconds' (default 3600) and trust all keys from the jwks response.
+ * Concurrent requests for an issuer that is not resolved yet share one load.
+ * </p>
+ * <p>
+ * Keys from 'jwks-uri' are refreshed in background every 'cache.refreshIntervalSeconds' (default 80% of
+ * 'cache.timeToLiveSeconds', at least 1 second). There is no background refresh when 'cache.timeToLiveSeconds' is 0,
+ * keys are then reloaded on each verification. While refresh is in progress or failing, the last successfully loaded keys are used
+ * for at most 'cache.maxStaleSeconds' (default 86400) after they expire. When token has unknown 'kid', keys are
+ * reloaded at most once per 'cache.minReloadIntervalSeconds' (default 30).
+ * </p>
+ * <p>
+ * Each 'jwks-uri' issuer uses one keep-alive {@link WebClient} created with provider, with connect timeout
+ * 'connectTimeoutMillis' (default 5000), response timeout 'readTimeoutMillis' (default 10000) and at most
+ * 'maxPoolSize' (default 2) connections. Clients are closed by {@link #close()}, or when verticle which created
+ * provider is undeployed.
+ * </p>
+ * <p>
+ * Provider returned by {@link #shared(Vertx, JsonObject, JWTAuthMetrics)} is shared by all verticles of
+ * {@link Vertx} instance using the same configuration, so each issuer has one web client and one refresh timer
+ * regardless of number of verticle instances. Shared provider is closed when the last verticle which uses it is
+ * undeployed.
+ * </p>
+ * <p>
+ * When 'token-cache.enabled' is true, payloads of verified tokens are cached by token hash until token expires,
+ * but no longer than 'token-cache.maxTimeToLiveSeconds' (default 300), so repeated tokens are not verified again.
+ * Cache keeps about 'token-cache.size' (default 10000) tokens, tokens are evicted in no particular order when it is full.
+ * </p>
+ * <p>
+ * Verification latency, token cache lookups and jwks retrievals are recorded with {@link JWTAuthMetrics}
+ * passed to constructor, by default nothing is recorded.
+ * </p>
  */
 public class ConfigJWTAuthProvider implements JWTAuth {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigJWTAuthProvider.class);
 
+    public static final long DEFAULT_CACHE_TIME_TO_LIVE_SECONDS = 3600;
+    public static final long DEFAULT_CACHE_MAX_STALE_SECONDS = 86400;
+    public static final long DEFAULT_CACHE_MIN_RELOAD_INTERVAL_SECONDS = 30;
+    public static final long MIN_CACHE_REFRESH_INTERVAL_MILLIS = 1000;
+    public static final int DEFAULT_JWKS_URI_CONNECT_TIMEOUT_MILLIS = 5000;
+    public static final long DEFAULT_JWKS_URI_READ_TIMEOUT_MILLIS = 10000;
+    public static final int DEFAULT_JWKS_URI_MAX_POOL_SIZE = 2;
+    public static final int DEFAULT_TOKEN_CACHE_SIZE = 10000;
+    public static final long DEFAULT_TOKEN_CACHE_MAX_TIME_TO_LIVE_SECONDS = 300;
+
+    private static final String SHARED_PROVIDERS_MAP = ConfigJWTAuthProvider.class.getName();
+    private static final Object SHARED_PROVIDERS_LOCK = new Object();
+
     private final Vertx vertx;
 
-    private final Map<String, JsonObject> clientOptionsByIssuer = new HashMap<>();
+    /**
+     * Context of jwks web clients and refresh timers, they are closed with it.
+     */
+    private final ContextInternal context;
+
+    private final Map<String, IssuerVerifier> verifierByIssuer = new HashMap<>();
+
+    private final VerifiedTokenCache tokenCache;
+
+    private final JWTAuthMetrics metrics;
 
     public ConfigJWTAuthProvider(Vertx vertx, JsonObject clientsConfig) {
+        this(vertx, clientsConfig, JWTAuthMetrics.NOOP);
+    }
+
+    public ConfigJWTAuthProvider(Vertx vertx, JsonObject clientsConfig, JWTAuthMetrics metrics) {
+        this(vertx, clientsConfig, metrics, ((VertxInternal) vertx).getOrCreateContext());
+    }
+
+    private ConfigJWTAuthProvider(Vertx vertx, JsonObject clientsConfig, JWTAuthMetrics metrics, ContextInternal context) {
         this.vertx = vertx;
+        this.context = context;
+        this.metrics = metrics;
+        this.tokenCache = createTokenCache(clientsConfig.getJsonObject("token-cache"));
         JsonArray clients = clientsConfig.getJsonArray("clients");
         if (clients != null) {
             clients.stream()
                 .filter(JsonObject.class::isInstance)
                 .map(JsonObject.class::cast)
-                .forEach(c -> Optional.of(c.getString("issuer")).ifPresent(iss -> clientOptionsByIssuer.put(iss, c)));
+                .forEach(c -> Optional.of(c.getString("issuer")).ifPresent(iss -> verifierByIssuer.put(iss, new IssuerVerifier(iss, c))));
         }
     }
 
@@ -86,6 +169,53 @@ public class ConfigJWTAuthProvider implements JWTAuth {
         return new ConfigJWTAuthProvider(vertx, clients);
     }
 
+    public static ConfigJWTAuthProvider instance(Vertx vertx, JsonObject clients, JWTAuthMetrics metrics) {
+        return new ConfigJWTAuthProvider(vertx, clients, metrics);
+    }
+
+    /**
+     * Returns provider shared by all callers with the same configuration on vertx instance. Provider is released when
+     * verticle calling this method is undeployed (or vertx is closed), it is closed when it is released by all callers.
+     * Shared provider must not be closed with {@link #close()}.
+     *
+     * @param vertx vertx instance
+     * @param clients clients configuration
+     * @param metrics metrics used when provider is created
+     * @return shared {@link ConfigJWTAuthProvider} instance
+     */
+    public static ConfigJWTAuthProvider shared(Vertx vertx, JsonObject clients, JWTAuthMetrics metrics) {
+        LocalMap<String, SharedProvider> providers = vertx.sharedData().getLocalMap(SHARED_PROVIDERS_MAP);
+        String key = clients.encode();
+        SharedProvider shared;
+        synchronized (SHARED_PROVIDERS_LOCK) {
+            shared = providers.get(key);
+            if (shared == null) {
+                // not created on current context, so it is not closed when the verticle which created it is undeployed
+                VertxInternal vertxInternal = (VertxInternal) vertx;
+                shared = new SharedProvider(new ConfigJWTAuthProvider(vertx, clients, metrics, vertxInternal.createEventLoopContext()));
+                providers.put(key, shared);
+            }
+            shared.references++;
+        }
+        SharedProvider released = shared;
+        ContextInternal current = ContextInternal.current();
+        CloseFuture closeFuture = current != null ? current.closeFuture() : ((VertxInternal) vertx).closeFuture();
+        closeFuture.add(completion -> {
+            released.release(providers, key);
+            completion.complete();
+        });
+        return shared.provider;
+    }
+
+    private static VerifiedTokenCache createTokenCache(JsonObject config) {
+        if (config == null || !config.getBoolean("enabled", false)) {
+            return null;
+        }
+        return new VerifiedTokenCache(
+            config.getInteger("size", DEFAULT_TOKEN_CACHE_SIZE),
+            config.getLong("maxTimeToLiveSeconds", DEFAULT_TOKEN_CACHE_MAX_TIME_TO_LIVE_SECONDS));
+    }
+
     /**
      * Authenticates user and calls result handler with {@link User} which has
      * <br>
@@ -99,44 +229,96 @@ public class ConfigJWTAuthProvider implements JWTAuth {
      */
     @Override
     public void authenticate(Credentials credentials, Handler<AsyncResult<User>> resultHandler) {
+        long start = System.nanoTime();
         try {
             TokenCredentials tokenCredentials = (TokenCredentials) credentials;
             tokenCredentials.checkValid(null);
 
-            //retrieve issuer
-            JsonObject parsedJwt = JWT.parse(tokenCredentials.getToken());
-            JsonObject payload = parsedJwt.getJsonObject("payload");
-            String issuer = payload.getString("iss");
+            //decode token and retrieve issuer
+            String token = tokenCredentials.getToken();
+            if (tokenCache != null) {
+                JsonObject payload = tokenCache.get(token);
+                if (payload != null) {
+                    String issuer = payload.getString("iss");
+                    Future<User> user = checkExpired(createUser(token, payload));
+                    metrics.tokenCache(issuer, true);
+                    metrics.verification(issuer, System.nanoTime() - start, user.succeeded());
+                    resultHandler.handle(user);
+                    return;
+                }
+            }
+            DecodedJWT decodedJWT = DecodedJWT.decode(token);
+            String issuer = decodedJWT.issuer();
             if (StringUtils.isBlank(issuer)) {
-                resultHandler.handle(Future.failedFuture("Invalid JWT payload. Missing 'issuer'."));
+                fail(resultHandler, start, Future.failedFuture("Invalid JWT payload. Missing 'issuer'."));
                 return;
             }
 
-            //retrieve clientOptions
-            JsonObject clientOption = clientOptionsByIssuer.get(issuer);
-            if (clientOption == null) {
-                resultHandler.handle(Future.failedFuture(String.format("Invalid JWT issuer: %s.", issuer)));
+            //retrieve issuer verifier
+            IssuerVerifier issuerVerifier = verifierByIssuer.get(issuer);
+            if (issuerVerifier == null) {
+                fail(resultHandler, start, Future.failedFuture(String.format("Invalid JWT issuer: %s.", issuer)));
                 return;
             }
-            //validate jwt
-            jwt(clientOption)
-                .onSuccess(jwt -> {
-                    JsonObject jwtToken = jwt.decode(tokenCredentials.getToken());
-                    User user = createUser(tokenCredentials.getToken(), jwtToken);
-                    if (user.expired()) {
-                        resultHandler.handle(Future.failedFuture("Invalid JWT token: token expired."));
-                        return;
+            if (tokenCache != null) {
+                metrics.tokenCache(issuer, false);
+            }
+            //validate jwt, keys may be loaded on other context, so result is delivered on context of caller
+            ContextInternal caller = ContextInternal.current();
+            Promise<User> result = caller != null ? caller.promise() : Promise.promise();
+            result.future().onComplete(resultHandler);
+            issuerVerifier.verifier()
+                .flatMap(verifier -> verify(issuerVerifier, verifier, decodedJWT))
+                .flatMap(__ -> {
+                    Future<User> user = checkExpired(createUser(token, decodedJWT.payload()));
+                    if (tokenCache != null && user.succeeded()) {
+                        tokenCache.put(token, decodedJWT.payload());
                     }
-                    resultHandler.handle(Future.succeededFuture(user));
+                    return user;
                 })
-                .onFailure(t -> resultHandler.handle(Future.failedFuture(t)));
+                .onComplete(ar -> {
+                    metrics.verification(issuer, System.nanoTime() - start, ar.succeeded());
+                    result.handle(ar);
+                });
 
         } catch (Exception e) {
-            resultHandler.handle(Future.failedFuture(e));
+            fail(resultHandler, start, Future.failedFuture(e));
+        }
+    }
+
+    private void fail(Handler<AsyncResult<User>> resultHandler, long start, Future<User> failure) {
+        metrics.verification(JWTAuthMetrics.UNKNOWN_ISSUER, System.nanoTime() - start, false);
+        resultHandler.handle(failure);
+    }
+
+    private Future<User> checkExpired(User user) {
+        if (user.expired()) {
+            return Future.failedFuture("Invalid JWT token: token expired.");
+        }
+        return Future.succeededFuture(user);
+    }
+
+    /**
+     * Verifies token signature. If token is signed with unknown key, issuer keys are reloaded
+     * (if allowed by issuer reload rate limit) and token is verified again.
+     */
+    private Future<Void> verify(IssuerVerifier issuerVerifier, JWTVerifier verifier, DecodedJWT decodedJWT) {
+        try {
+            verifier.verify(decodedJWT);
+            return Future.succeededFuture();
+        } catch (NoSuchKeyIdException e) {
+            return issuerVerifier.reloadOnUnknownKey()
+                .recover(t -> Future.failedFuture(e))
+                .map(reloaded -> {
+                    reloaded.verify(decodedJWT);
+                    return null;
+                });
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
         }
     }
 
-    private Future<JWT> jwt(JsonObject clientOptions) {
+    private Future<JWTVerifier> loadVerifier(JsonObject clientOptions, WebClient webClient) {
         String issuer = clientOptions.getString("issuer");
         JsonObject jwksUriConfig = clientOptions.getJsonObject("jwks-uri");
         JsonArray jwksConfig = clientOptions.getJsonArray("jwks");
@@ -146,14 +328,14 @@ public class ConfigJWTAuthProvider implements JWTAuth {
             return Future.failedFuture(String.format("Invalid configuration for issuer: %s. Missing both 'jwks-uri' and 'jwks'.", issuer));
         }
 
-        return Future.succeededFuture(new JWT())
-            .compose(configureJWTWithJwks(issuer, jwksConfig))
-            .compose(configureJWTWithJwksUri(issuer, jwksUriConfig));
+        return Future.succeededFuture(new JWTVerifier())
+            .compose(configureVerifierWithJwks(issuer, jwksConfig))
+            .compose(configureVerifierWithJwksUri(issuer, jwksUriConfig, webClient));
 
     }
 
-    private Function<JWT, Future<JWT>> configureJWTWithJwks(String issuer, JsonArray config) {
-        return jwt -> {
+    private Function<JWTVerifier, Future<JWTVerifier>> configureVerifierWithJwks(String issuer, JsonArray config) {
+        return verifier -> {
             if (config != null) {
                 config.stream()
                     .filter(JsonObject.class::isInstance)
@@ -163,15 +345,16 @@ public class ConfigJWTAuthProvider implements JWTAuth {
                             .setId(jwk.getString("key-id"))
                             .setAlgorithm(jwk.getString("algorithm"))
                             .setBuffer(jwk.getString("public-key-pem"));
-                        jwt.addJWK(new JWK(pubSecKeyOptions));
+                        verifier.addJWK(new JWK(pubSecKeyOptions));
                     });
             }
-            return Future.succeededFuture(jwt);
+            return Future.succeededFuture(verifier);
         };
     }
 
-    private Function<JWT, Future<JWT>> configureJWTWithJwksUri(String issuer, JsonObject config) {
-        return jwt -> {
+    private Function<JWTVerifier, Future<JWTVerifier>> configureVerifierWithJwksUri(String issuer, JsonObject config,
+                                                                                    WebClient webClient) {
+        return verifier -> {
             if (config != null) {
                 String uriValue = config.getString("uri");
                 if (StringUtils.isBlank(uriValue)) {
@@ -188,33 +371,23 @@ public class ConfigJWTAuthProvider implements JWTAuth {
                             issuer));
                 }
 
-                WebClientOptions webClientOptions = new WebClientOptions();
-
-                // setup proxy if needed
-                JsonObject proxy = config.getJsonObject("proxy");
-                if (proxy != null) {
-                    String host = proxy.getString("host");
-                    Integer port = proxy.getInteger("port");
-                    LOGGER.debug("Configuring proxy for issuer: {} and uri: {} with host: {} and port: {}", issuer, uri, host, port);
-                    if (host != null && port != null) {
-                        webClientOptions.setProxyOptions(new ProxyOptions(proxy));
-                    }
-                }
-
-                return WebClient.create(vertx, webClientOptions)
+                long start = System.nanoTime();
+                return webClient
                     .get(uri.getPort(), uri.getHost(), uri.getPath())
+                    .timeout(config.getLong("readTimeoutMillis", DEFAULT_JWKS_URI_READ_TIMEOUT_MILLIS))
                     .send()
+                    .onComplete(ar -> metrics.jwksFetch(issuer, System.nanoTime() - start,
+                        ar.succeeded() && ar.result().statusCode() == HttpStatusCode.OK.code()))
                     .flatMap(resp -> {
                         if (resp.statusCode() == HttpStatusCode.OK.code()) {
                             JsonObject response = resp.bodyAsJsonObject();
                             var keys = response.getJsonArray("keys");
-
                             keys.stream()
                                 .filter(JsonObject.class::isInstance)
                                 .map(JsonObject.class::cast)
-                                .forEach(jwk -> jwt.addJWK(new JWK(jwk)));
+                                .forEach(jwk -> verifier.addJWK(new JWK(jwk)));
 
-                            return Future.succeededFuture(jwt);
+                            return Future.succeededFuture(verifier);
                         }
                         LOGGER.error("Error retrieving jwks for issuer: {} from uri: {}, status: {}, response: {}",
                             issuer, uri, resp.statusCode(), resp.bodyAsString());
@@ -223,15 +396,223 @@ public class ConfigJWTAuthProvider implements JWTAuth {
                                 issuer, resp.statusCode()));
                     });
             }
-            return Future.succeededFuture(jwt);
+            return Future.succeededFuture(verifier);
         };
     }
 
-    private User createUser(String token, JsonObject jwt) {
-        JsonObject principal = jwt.copy()
+    /**
+     * Creates keep-alive {@link WebClient} used for all jwks retrievals of issuer.
+     */
+    private WebClient createWebClient(String issuer, JsonObject config) {
+        WebClientOptions webClientOptions = new WebClientOptions()
+            .setKeepAlive(true)
+            .setConnectTimeout(config.getInteger("connectTimeoutMillis", DEFAULT_JWKS_URI_CONNECT_TIMEOUT_MILLIS))
+            .setMaxPoolSize(config.getInteger("maxPoolSize", DEFAULT_JWKS_URI_MAX_POOL_SIZE));
+
+        // setup proxy if needed
+        JsonObject proxy = config.getJsonObject("proxy");
+        if (proxy != null) {
+            String host = proxy.getString("host");
+            Integer port = proxy.getInteger("port");
+            LOGGER.debug("Configuring proxy for issuer: {} and uri: {} with host: {} and port: {}",
+                issuer, config.getString("uri"), host, port);
+            if (host != null && port != null) {
+                webClientOptions.setProxyOptions(new ProxyOptions(proxy));
+            }
+        }
+
+        // like WebClient.create, but bound to provider context instead of current context
+        CloseFuture closeFuture = new CloseFuture();
+        HttpClient httpClient = ((VertxInternal) vertx).createHttpClient(webClientOptions, closeFuture);
+        context.closeFuture().add(closeFuture);
+        return WebClient.wrap(httpClient, webClientOptions);
+    }
+
+    /**
+     * Creates user from decoded payload. Principal and attributes are shallow copies of payload instead of
+     * deep copies, payload from token cache is shared by users created for the same token.
+     */
+    private User createUser(String token, JsonObject payload) {
+        //payload may be cached, so each user gets own deep copy of claims
+        JsonObject principal = payload.copy()
             .put("access_token", token);
-        User user = User.create(principal, new JsonObject().put("accessToken", jwt).mergeIn(jwt));
-        return user;
+        JsonObject attributes = payload.copy()
+            .put("accessToken", payload.copy());
+        return User.create(principal, attributes);
+    }
+
+    /**
+     * Cached {@link JWTVerifier} of single issuer.
+     */
+    private class IssuerVerifier {
+        private final String issuer;
+        private final JsonObject clientOptions;
+        private final boolean refreshable;
+        private final long timeToLiveNanos;
+        private final long maxStaleNanos;
+        private final long minReloadIntervalNanos;
+        private final long refreshIntervalMillis;
+        private final WebClient webClient;
+
+        private volatile JWTVerifier current;
+        private volatile long expiresAt;
+        private Future<JWTVerifier> loading;
+        private boolean loadStarted;
+        private long lastLoadStartedAt;
+        private long refreshTimerId = -1;
+
+        private IssuerVerifier(String issuer, JsonObject clientOptions) {
+            this.issuer = issuer;
+            this.clientOptions = clientOptions;
+
+            JsonObject jwksUriConfig = clientOptions.getJsonObject("jwks-uri");
+            JsonObject cacheConfig = Optional.ofNullable(jwksUriConfig)
+                .map(c -> c.getJsonObject("cache"))
+                .orElseGet(JsonObject::new);
+            long ttlSeconds = cacheConfig.getLong("timeToLiveSeconds", DEFAULT_CACHE_TIME_TO_LIVE_SECONDS);
+
+            this.refreshable = jwksUriConfig != null;
+            this.webClient = jwksUriConfig != null ? createWebClient(issuer, jwksUriConfig) : null;
+            this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+            this.maxStaleNanos = TimeUnit.SECONDS.toNanos(cacheConfig.getLong("maxStaleSeconds", DEFAULT_CACHE_MAX_STALE_SECONDS));
+            this.minReloadIntervalNanos = TimeUnit.SECONDS.toNanos(
+                cacheConfig.getLong("minReloadIntervalSeconds", DEFAULT_CACHE_MIN_RELOAD_INTERVAL_SECONDS));
+            this.refreshIntervalMillis = refreshIntervalMillis(ttlSeconds, cacheConfig.getLong("refreshIntervalSeconds"));
+        }
+
+        /**
+         * @return refresh interval, 0 when keys are not cached and there is nothing to refresh
+         */
+        private long refreshIntervalMillis(long ttlSeconds, Long refreshIntervalSeconds) {
+            if (ttlSeconds <= 0) {
+                return 0;
+            }
+            long intervalMillis = refreshIntervalSeconds != null
+                ? TimeUnit.SECONDS.toMillis(refreshIntervalSeconds)
+                : TimeUnit.SECONDS.toMillis(ttlSeconds) * 4 / 5;
+            return Math.max(MIN_CACHE_REFRESH_INTERVAL_MILLIS, intervalMillis);
+        }
+
+        /**
+         * Returns cached {@link JWTVerifier}. Expired verifier is still returned while it is reloaded in background,
+         * unless it is expired for more than max stale time. Verifier which is not expired is returned without locking.
+         */
+        private Future<JWTVerifier> verifier() {
+            JWTVerifier verifier = current;
+            if (verifier != null && (!refreshable || System.nanoTime() - expiresAt < 0)) {
+                return Future.succeededFuture(verifier);
+            }
+            return expiredVerifier();
+        }
+
+        private synchronized Future<JWTVerifier> expiredVerifier() {
+            if (current == null) {
+                return load();
+            }
+            if (refreshable) {
+                long now = System.nanoTime();
+                if (now - expiresAt >= 0) {
+                    Future<JWTVerifier> reload = load();
+                    if (now - expiresAt >= maxStaleNanos) {
+                        LOGGER.warn("Jwks for issuer: {} expired and can not be used until reloaded", issuer);
+                        return reload;
+                    }
+                }
+            }
+            return Future.succeededFuture(current);
+        }
+
+        /**
+         * Reloads verifier when token with unknown key is received, at most once per min reload interval.
+         */
+        private synchronized Future<JWTVerifier> reloadOnUnknownKey() {
+            if (!refreshable) {
+                return Future.failedFuture("Issuer keys can not be reloaded.");
+            }
+            if (loading == null && loadStarted && System.nanoTime() - lastLoadStartedAt < minReloadIntervalNanos) {
+                return Future.failedFuture("Issuer keys reload rate limited.");
+            }
+            LOGGER.debug("Reloading jwks for issuer: {} because of unknown key", issuer);
+            return load();
+        }
+
+        private synchronized Future<JWTVerifier> load() {
+            if (loading != null) {
+                return loading;
+            }
+            LOGGER.debug("Loading jwt verifier for issuer: {}", issuer);
+            Promise<JWTVerifier> promise = Promise.promise();
+            Future<JWTVerifier> future = promise.future();
+            loading = future;
+            loadStarted = true;
+            lastLoadStartedAt = System.nanoTime();
+            loadVerifier(clientOptions, webClient).onComplete(ar -> {
+                synchronized (this) {
+                    loading = null;
+                    if (ar.succeeded()) {
+                        expiresAt = System.nanoTime() + timeToLiveNanos;
+                        current = ar.result();
+                        scheduleRefresh();
+                    } else if (current != null) {
+                        LOGGER.warn("Reloading jwks for issuer: {} failed, using previously loaded keys", issuer, ar.cause());
+                    }
+                }
+                promise.handle(ar);
+            });
+            return future;
+        }
+
+        private void scheduleRefresh() {
+            if (refreshable && refreshIntervalMillis > 0 && refreshTimerId == -1) {
+                refreshTimerId = context.setPeriodic(refreshIntervalMillis, id -> load());
+            }
+        }
+
+        private synchronized void close() {
+            if (refreshTimerId != -1) {
+                vertx.cancelTimer(refreshTimerId);
+                refreshTimerId = -1;
+            }
+            if (webClient != null) {
+                webClient.close();
+            }
+        }
+    }
+
+    /**
+     * @return verified token cache or null when it is not enabled
+     */
+    VerifiedTokenCache tokenCache() {
+        return tokenCache;
+    }
+
+    /**
+     * Stops background refresh of issuer keys and closes jwks web clients.
+     */
+    public void close() {
+        verifierByIssuer.values().forEach(IssuerVerifier::close);
+    }
+
+    /**
+     * Provider shared with {@link #shared(Vertx, JsonObject, JWTAuthMetrics)}, counting verticles which use it.
+     */
+    private static class SharedProvider implements Shareable {
+        private final ConfigJWTAuthProvider provider;
+        private int references;
+
+        private SharedProvider(ConfigJWTAuthProvider provider) {
+            this.provider = provider;
+        }
+
+        private void release(LocalMap<String, SharedProvider> providers, String key) {
+            synchronized (SHARED_PROVIDERS_LOCK) {
+                if (--references > 0) {
+                    return;
+                }
+                providers.remove(key);
+            }
+            provider.close();
+        }
     }
 
     @Override
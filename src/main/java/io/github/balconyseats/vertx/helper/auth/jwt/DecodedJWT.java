@@ -0,0 +1,104 @@
+package io.github.balconyseats.vertx.helper.auth.jwt;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * JWT token split and decoded once. Decoded header and payload are used for issuer lookup,
+ * signature verification and {@link io.vertx.ext.auth.User} creation.
+ */
+final class DecodedJWT {
+
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private final String token;
+    private final int signatureSeparator;
+    private final JsonObject header;
+    private final JsonObject payload;
+
+    private DecodedJWT(String token, int signatureSeparator, JsonObject header, JsonObject payload) {
+        this.token = token;
+        this.signatureSeparator = signatureSeparator;
+        this.header = header;
+        this.payload = payload;
+    }
+
+    /**
+     * Splits token to segments and decodes header and payload.
+     *
+     * @param token JWT token
+     * @return decoded token
+     */
+    static DecodedJWT decode(String token) {
+        int payloadSeparator = token.indexOf('.');
+        int signatureSeparator = payloadSeparator == -1 ? -1 : token.indexOf('.', payloadSeparator + 1);
+        if (payloadSeparator == -1 || (signatureSeparator != -1 && token.indexOf('.', signatureSeparator + 1) != -1)) {
+            throw new IllegalStateException(String.format("Not enough or too many segments [%d]", segments(token)));
+        }
+
+        int payloadEnd = signatureSeparator == -1 ? token.length() : signatureSeparator;
+        JsonObject header = decodeSegment(token, 0, payloadSeparator);
+        JsonObject payload = decodeSegment(token, payloadSeparator + 1, payloadEnd);
+
+        return new DecodedJWT(token, signatureSeparator, header, payload);
+    }
+
+    String token() {
+        return token;
+    }
+
+    JsonObject header() {
+        return header;
+    }
+
+    JsonObject payload() {
+        return payload;
+    }
+
+    String issuer() {
+        return payload.getString("iss");
+    }
+
+    String algorithm() {
+        return header.getString("alg");
+    }
+
+    String keyId() {
+        return header.getString("kid");
+    }
+
+    boolean isSigned() {
+        return signatureSeparator != -1 && signatureSeparator < token.length() - 1;
+    }
+
+    /**
+     * @return header and payload segments as signed by issuer
+     */
+    byte[] signingInput() {
+        return token.substring(0, signatureSeparator).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return decoded signature segment
+     */
+    byte[] signature() {
+        return BASE64_URL_DECODER.decode(token.substring(signatureSeparator + 1));
+    }
+
+    private static JsonObject decodeSegment(String token, int start, int end) {
+        return new JsonObject(Buffer.buffer(BASE64_URL_DECODER.decode(token.substring(start, end))));
+    }
+
+    private static int segments(String token) {
+        int segments = 1;
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) == '.') {
+                segments++;
+            }
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.balconyseats.vertx.helper.auth.jwt;
+
+/**
+ * Metrics recorded by {@link ConfigJWTAuthProvider}. Issuer is one of configured issuers or
+ * {@link #UNKNOWN_ISSUER} when token issuer can not be resolved.
+ */
+public interface JWTAuthMetrics {
+
+    String UNKNOWN_ISSUER = "unknown";
+
+    /**
+     * Metrics which records nothing.
+     */
+    JWTAuthMetrics NOOP = new JWTAuthMetrics() {
+    };
+
+    /**
+     * Records token verification, including tokens served from token cache.
+     *
+     * @param issuer        token issuer
+     * @param durationNanos verification duration in nanoseconds
+     * @param success       true if token is valid
+     */
+    default void verification(String issuer, long durationNanos, boolean success) {
+    }
+
+    /**
+     * Records token cache lookup.
+     *
+     * @param issuer token issuer
+     * @param hit    true if token is found in cache
+     */
+    default void tokenCache(String issuer, boolean hit) {
+    }
+
+    /**
+     * Records jwks retrieval from 'jwks-uri'.
+     *
+     * @param issuer        issuer
+     * @param durationNanos retrieval duration in nanoseconds
+     * @param success       true if jwks are retrieved
+     */
+    default void jwksFetch(String issuer, long durationNanos, boolean success) {
+    }
+
+}
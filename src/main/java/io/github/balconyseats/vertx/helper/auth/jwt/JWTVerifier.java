@@ -0,0 +1,98 @@
+package io.github.balconyseats.vertx.helper.auth.jwt;
+
+import io.vertx.ext.auth.NoSuchKeyIdException;
+import io.vertx.ext.auth.impl.jose.JWK;
+import io.vertx.ext.auth.impl.jose.JWS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies signature of {@link DecodedJWT} with issuer keys.
+ * <p>
+ * Keys are added while verifier is loaded, after that verifier is only read and can be shared between threads.
+ * </p>
+ */
+final class JWTVerifier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JWTVerifier.class);
+
+    private final Map<String, List<JWS>> signaturesByAlgorithm = new HashMap<>();
+
+    /**
+     * Adds verification key, key with the same label replaces existing key.
+     *
+     * @param jwk json web key
+     * @return this instance
+     */
+    JWTVerifier addJWK(JWK jwk) {
+        if (jwk.use() != null && !"sig".equals(jwk.use())) {
+            LOGGER.warn("JWK skipped: use: sig != {}", jwk.use());
+            return this;
+        }
+        if (jwk.mac() == null && jwk.publicKey() == null) {
+            return this;
+        }
+
+        List<JWS> signatures = signaturesByAlgorithm.computeIfAbsent(jwk.getAlgorithm(), k -> new ArrayList<>());
+        for (int i = 0; i < signatures.size(); i++) {
+            if (signatures.get(i).jwk().label().equals(jwk.label())) {
+                signatures.set(i, new JWS(jwk));
+                return this;
+            }
+        }
+        signatures.add(new JWS(jwk));
+        return this;
+    }
+
+    /**
+     * Verifies token signature.
+     *
+     * @param jwt decoded token
+     * @throws NoSuchKeyIdException when there is no key for token algorithm and key id
+     * @throws IllegalStateException when token is not signed or uses 'none' algorithm
+     * @throws RuntimeException when signature is not valid
+     */
+    void verify(DecodedJWT jwt) {
+        String algorithm = jwt.algorithm();
+        if (algorithm == null || "none".equals(algorithm)) {
+            throw new IllegalStateException("Algorithm \"none\" not allowed");
+        }
+        if (!jwt.isSigned()) {
+            throw new IllegalStateException("Signature is required");
+        }
+
+        List<JWS> signatures = signaturesByAlgorithm.get(algorithm);
+        if (signatures == null || signatures.isEmpty()) {
+            throw new NoSuchKeyIdException(algorithm);
+        }
+
+        String keyId = jwt.keyId();
+        byte[] signature = null;
+        byte[] signingInput = null;
+        for (JWS jws : signatures) {
+            String jwsKeyId = jws.jwk().getId();
+            // if a token has a kid and it doesn't match the key id skip it
+            if (keyId != null && jwsKeyId != null && !keyId.equals(jwsKeyId)) {
+                continue;
+            }
+            if (signature == null) {
+                signature = jwt.signature();
+                signingInput = jwt.signingInput();
+            }
+            if (jws.verify(signature, signingInput)) {
+                return;
+            }
+        }
+
+        if (signature != null) {
+            throw new RuntimeException("Signature verification failed");
+        }
+        throw new NoSuchKeyIdException(algorithm, keyId);
+    }
+
+}
@@ -0,0 +1,105 @@
+package io.github.balconyseats.vertx.helper.auth.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JWTAuthMetrics} backed by Micrometer {@link MeterRegistry}. Records meters tagged by 'issuer':
+ * <ul>
+ *     <li>'jwt.auth.verification' - timer with percentile histogram tagged by 'result' (success, failure)</li>
+ *     <li>'jwt.auth.token.cache' - counter tagged by 'result' (hit, miss)</li>
+ *     <li>'jwt.auth.jwks.fetch' - timer tagged by 'result' (success, failure)</li>
+ * </ul>
+ */
+public class MicrometerJWTAuthMetrics implements JWTAuthMetrics {
+
+    public static final String VERIFICATION_TIMER = "jwt.auth.verification";
+    public static final String TOKEN_CACHE_COUNTER = "jwt.auth.token.cache";
+    public static final String JWKS_FETCH_TIMER = "jwt.auth.jwks.fetch";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, IssuerMeters> metersByIssuer = new ConcurrentHashMap<>();
+
+    public MicrometerJWTAuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static MicrometerJWTAuthMetrics instance(MeterRegistry registry) {
+        return new MicrometerJWTAuthMetrics(registry);
+    }
+
+    @Override
+    public void verification(String issuer, long durationNanos, boolean success) {
+        IssuerMeters meters = meters(issuer);
+        (success ? meters.verificationSuccess : meters.verificationFailure).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void tokenCache(String issuer, boolean hit) {
+        IssuerMeters meters = meters(issuer);
+        (hit ? meters.tokenCacheHit : meters.tokenCacheMiss).increment();
+    }
+
+    @Override
+    public void jwksFetch(String issuer, long durationNanos, boolean success) {
+        IssuerMeters meters = meters(issuer);
+        (success ? meters.jwksFetchSuccess : meters.jwksFetchFailure).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private IssuerMeters meters(String issuer) {
+        return metersByIssuer.computeIfAbsent(issuer, IssuerMeters::new);
+    }
+
+    /**
+     * Meters of single issuer, registered once so recording does not look up registry.
+     */
+    private class IssuerMeters {
+        private final Timer verificationSuccess;
+        private final Timer verificationFailure;
+        private final Counter tokenCacheHit;
+        private final Counter tokenCacheMiss;
+        private final Timer jwksFetchSuccess;
+        private final Timer jwksFetchFailure;
+
+        private IssuerMeters(String issuer) {
+            this.verificationSuccess = verificationTimer(issuer, "success");
+            this.verificationFailure = verificationTimer(issuer, "failure");
+            this.tokenCacheHit = tokenCacheCounter(issuer, "hit");
+            this.tokenCacheMiss = tokenCacheCounter(issuer, "miss");
+            this.jwksFetchSuccess = jwksFetchTimer(issuer, "success");
+            this.jwksFetchFailure = jwksFetchTimer(issuer, "failure");
+        }
+
+        private Timer verificationTimer(String issuer, String result) {
+            return Timer.builder(VERIFICATION_TIMER)
+                .description("JWT verification latency")
+                .tag("issuer", issuer)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+
+        private Counter tokenCacheCounter(String issuer, String result) {
+            return Counter.builder(TOKEN_CACHE_COUNTER)
+                .description("Verified JWT cache lookups")
+                .tag("issuer", issuer)
+                .tag("result", result)
+                .register(registry);
+        }
+
+        private Timer jwksFetchTimer(String issuer, String result) {
+            return Timer.builder(JWKS_FETCH_TIMER)
+                .description("JWKS retrieval latency")
+                .tag("issuer", issuer)
+                .tag("result", result)
+                .register(registry);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package io.github.balconyseats.vertx.helper.auth.jwt;
+
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified token payloads keyed by SHA-256 hash of the raw token.
+ * <p>
+ * Entry is valid until token 'exp' claim but no longer than max time to live, expiration is checked on read.
+ * When cache is full, entries are evicted in no particular order, so while tokens are added concurrently
+ * size is bounded only approximately.
+ * </p>
+ */
+class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int size;
+    private final long maxTimeToLiveMillis;
+    private final Map<TokenHash, Entry> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int size, long maxTimeToLiveSeconds) {
+        this.size = size;
+        this.maxTimeToLiveMillis = TimeUnit.SECONDS.toMillis(maxTimeToLiveSeconds);
+    }
+
+    /**
+     * Returns verified payload of token if it is cached and not expired.
+     *
+     * @param token raw token
+     * @return payload or null
+     */
+    JsonObject get(String token) {
+        TokenHash hash = TokenHash.of(token);
+        Entry entry = entries.get(hash);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(hash, entry);
+            return null;
+        }
+        return entry.payload;
+    }
+
+    /**
+     * Caches verified token payload.
+     *
+     * @param token raw token
+     * @param payload verified token payload
+     */
+    void put(String token, JsonObject payload) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTimeToLiveMillis;
+        Long exp = payload.getLong("exp");
+        if (exp != null) {
+            expiresAt = Math.min(expiresAt, TimeUnit.SECONDS.toMillis(exp));
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        TokenHash hash = TokenHash.of(token);
+        entries.put(hash, new Entry(payload, expiresAt));
+        if (entries.size() > size) {
+            evict(hash);
+        }
+    }
+
+    private void evict(TokenHash added) {
+        Iterator<TokenHash> hashes = entries.keySet().iterator();
+        while (entries.size() > size && hashes.hasNext()) {
+            if (!added.equals(hashes.next())) {
+                hashes.remove();
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+        private final JsonObject payload;
+        private final long expiresAt;
+
+        private Entry(JsonObject payload, long expiresAt) {
+            this.payload = payload;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class TokenHash {
+        private final byte[] hash;
+        private final int hashCode;
+
+        private TokenHash(byte[] hash) {
+            this.hash = hash;
+            this.hashCode = Arrays.hashCode(hash);
+        }
+
+        private static TokenHash of(String token) {
+            return new TokenHash(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof TokenHash && Arrays.equals(hash, ((TokenHash) o).hash));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
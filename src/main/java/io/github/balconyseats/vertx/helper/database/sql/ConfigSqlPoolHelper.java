@@ -1,10 +1,14 @@
 package io.github.balconyseats.vertx.helper.database.sql;
 
+import io.github.balconyseats.vertx.helper.application.configurer.ConfigInstancesVerticleConfigurer;
 import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.jdbcclient.JDBCConnectOptions;
 import io.vertx.jdbcclient.JDBCPool;
+import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.mssqlclient.MSSQLConnectOptions;
 import io.vertx.mssqlclient.MSSQLPool;
 import io.vertx.oracleclient.OracleConnectOptions;
@@ -13,7 +17,13 @@ import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.SqlConnectOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -55,6 +65,74 @@ import java.util.Optional;
  *         max-size: 5
  *         max-wait-queue-size: -1
  *         connection-timeout: 30
+ *         shared: true
+ *         name: 'pool-name'
+ *         eventLoopSize: auto
+ * </pre>
+ *
+ * Shared pool is created once per name and reused by every {@link #create(Vertx, JsonObject, String)} call, e.g.
+ * from each verticle instance, and closed when all its users close it. When 'name' is not set, config root is used.
+ * By default pool creates connections on event loop of context it is created from (or single event loop when created
+ * outside of context), 'eventLoopSize' spreads connections over given number of event loops, 'auto' uses all event
+ * loops of Vert.x instance. For per-event-loop connection affinity create non shared pool in each verticle instance
+ * without 'eventLoopSize', so connections live on verticle event loop and results are not handed over between threads.
+ *
+ * <p>
+ * <p>
+ * Prepared statement cache (postgresql, oracle, mssql) and pipelining (postgresql only) options
+ * ({@link SqlConnectOptions}, {@link PgConnectOptions}):
+ *
+ * <pre>
+ *     database:
+ *       cachePreparedStatements: true
+ *       preparedStatementCacheMaxSize: 256
+ *       preparedStatementCacheSqlLimit: 2048
+ *       pipeliningLimit: 256
+ * </pre>
+ *
+ * Options which are not defined keep Vert.x client defaults. Values are validated when pool is created, and
+ * effective values are logged. For jdbc statement caching is configured in JDBC driver (e.g. in 'jdbcUrl').
+ *
+ * <p>
+ * <p>
+ * Read replicas ({@link ReadWriteSplitPool}), each replica inherits database configuration and overrides its values:
+ *
+ * <pre>
+ *     database:
+ *       type: 'postgresql'
+ *       host: 'primary'
+ *       ...
+ *       replicas:
+ *         - host: 'replica-1'
+ *         - host: 'replica-2'
+ *           pool:
+ *             maxSize: 10
+ *       healthCheck:
+ *         intervalMillis: 5000
+ *         timeoutMillis: 2000
+ *         query: 'SELECT 1'
+ * </pre>
+ *
+ * Multiple databases ({@link #createAll(Vertx, JsonObject)}), each entry is configured as 'database' root above:
+ *
+ * <pre>
+ *     databases:
+ *       oltp:
+ *         type: 'postgresql'
+ *         ...
+ *       reporting:
+ *         type: 'postgresql'
+ *         ...
+ * </pre>
+ *
+ * With 'metrics.enabled' in database configuration (requires 'metrics.micrometer.enabled'), each created pool
+ * (primary and replicas) is wrapped with {@link MeteredPool}, which records {@link SqlPoolMetrics} tagged by config
+ * root. Such pool is not database client specific type, use {@link MeteredPool#unwrap(Pool)} to get it.
+ *
+ * <pre>
+ *     database:
+ *       metrics:
+ *         enabled: true
  * </pre>
  */
 public class ConfigSqlPoolHelper {
@@ -65,8 +143,31 @@ public class ConfigSqlPoolHelper {
     public static final String JDBC_TYPE = "jdbc";
 
     public static final String DEFAULT_DATABASE_CONFIG_ROOT = "database";
+    public static final String DATABASES_CONFIG_ROOT = "databases";
     public static final String DATABASE_TYPE_KEY = "type";
     public static final String DATABASE_POOL_KEY = "pool";
+    public static final String DATABASE_CACHE_PREPARED_STATEMENTS_KEY = "cachePreparedStatements";
+    public static final String DATABASE_PREPARED_STATEMENT_CACHE_MAX_SIZE_KEY = "preparedStatementCacheMaxSize";
+    public static final String DATABASE_PREPARED_STATEMENT_CACHE_SQL_LIMIT_KEY = "preparedStatementCacheSqlLimit";
+    public static final String DATABASE_PIPELINING_LIMIT_KEY = "pipeliningLimit";
+    public static final String POOL_SHARED_KEY = "shared";
+    public static final String POOL_NAME_KEY = "name";
+    public static final String POOL_EVENT_LOOP_SIZE_KEY = "eventLoopSize";
+    public static final String AUTO_EVENT_LOOP_SIZE = "auto";
+    public static final String DATABASE_METRICS_KEY = "metrics";
+    public static final String METRICS_ENABLED_KEY = "enabled";
+    public static final String DATABASE_REPLICAS_KEY = "replicas";
+    public static final String DATABASE_HEALTH_CHECK_KEY = "healthCheck";
+    public static final String HEALTH_CHECK_INTERVAL_MILLIS_KEY = "intervalMillis";
+    public static final String HEALTH_CHECK_TIMEOUT_MILLIS_KEY = "timeoutMillis";
+    public static final String HEALTH_CHECK_QUERY_KEY = "query";
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS = 5000L;
+    public static final long DEFAULT_HEALTH_CHECK_TIMEOUT_MILLIS = 2000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigSqlPoolHelper.class);
+
+    private static final List<String> STATEMENT_CACHE_KEYS = List.of(DATABASE_CACHE_PREPARED_STATEMENTS_KEY,
+        DATABASE_PREPARED_STATEMENT_CACHE_MAX_SIZE_KEY, DATABASE_PREPARED_STATEMENT_CACHE_SQL_LIMIT_KEY);
 
     public static Map<String, PoolFunction> POOL_FUNCTIONS = Map.of(
         POSTGRESQL_TYPE, ConfigSqlPoolHelper::pgPool,
@@ -86,44 +187,225 @@ public class ConfigSqlPoolHelper {
             throw new IllegalConfigurationException(String.format("Database configuration for root '%s' not exists.", root));
         }
 
+        return create(vertx, config, dbConfig, root);
+    }
+
+    /**
+     * Creates pools of all databases in 'databases' configuration map, each pool is configured as database root.
+     * When creating of any pool fails, already created pools are closed.
+     * @param vertx vertx instance
+     * @param config configuration
+     * @return pools by database name in configuration order, empty when 'databases' is not configured
+     */
+    public static Map<String, Pool> createAll(Vertx vertx, JsonObject config) {
+        JsonObject databases = config.getJsonObject(DATABASES_CONFIG_ROOT);
+        if (databases == null) {
+            return Map.of();
+        }
+        Map<String, Pool> pools = new LinkedHashMap<>();
+        try {
+            for (String name : databases.fieldNames()) {
+                String root = DATABASES_CONFIG_ROOT + "." + name;
+                Object dbConfig = databases.getValue(name);
+                if (!(dbConfig instanceof JsonObject)) {
+                    throw new IllegalConfigurationException(String.format("Invalid database configuration for root '%s', expected object.", root));
+                }
+                pools.put(name, create(vertx, config, (JsonObject) dbConfig, root));
+            }
+        } catch (RuntimeException e) {
+            pools.values().forEach(Pool::close);
+            throw e;
+        }
+        return pools;
+    }
+
+    private static Pool create(Vertx vertx, JsonObject config, JsonObject dbConfig, String root) {
+        MeterRegistry registry = meterRegistry(dbConfig, root);
+        JsonArray replicas = dbConfig.getJsonArray(DATABASE_REPLICAS_KEY);
+        if (replicas == null || replicas.isEmpty()) {
+            return createPool(vertx, dbConfig, root, registry);
+        }
+        return readWriteSplitPool(vertx, dbConfig, replicas, root, registry);
+    }
+
+    private static MeterRegistry meterRegistry(JsonObject dbConfig, String root) {
+        JsonObject metrics = dbConfig.getJsonObject(DATABASE_METRICS_KEY);
+        if (metrics == null || !metrics.getBoolean(METRICS_ENABLED_KEY, false)) {
+            return null;
+        }
+        MeterRegistry registry = BackendRegistries.getDefaultNow();
+        if (registry == null) {
+            LOGGER.warn("Sql pool '{}': metrics are enabled, but Micrometer metrics are not enabled in Vert.x options", root);
+        }
+        return registry;
+    }
+
+    private static Pool createPool(Vertx vertx, JsonObject dbConfig, String root, MeterRegistry registry) {
         String type = dbConfig.getString(DATABASE_TYPE_KEY);
-        PoolOptions poolOptions = poolOptions(dbConfig);
+        validateStatementOptions(type, dbConfig, root);
+        PoolOptions poolOptions = poolOptions(vertx, dbConfig, root);
 
-        return Optional.ofNullable(POOL_FUNCTIONS.get(type))
-            .map(f -> f.apply(vertx, poolOptions, dbConfig))
+        Pool pool = Optional.ofNullable(POOL_FUNCTIONS.get(type))
+            .map(f -> f.apply(vertx, poolOptions, dbConfig, root))
             .orElseThrow(() -> new IllegalArgumentException(String.format("Database type '%s' is not supported.", type)));
+        return registry != null ? new MeteredPool(pool, SqlPoolMetrics.instance(registry, root)) : pool;
+    }
+
+    private static ReadWriteSplitPool readWriteSplitPool(Vertx vertx, JsonObject dbConfig, JsonArray replicas, String root,
+                                                         MeterRegistry registry) {
+        JsonObject healthCheck = dbConfig.getJsonObject(DATABASE_HEALTH_CHECK_KEY, new JsonObject());
+        long intervalMillis = healthCheck.getLong(HEALTH_CHECK_INTERVAL_MILLIS_KEY, DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS);
+        long timeoutMillis = healthCheck.getLong(HEALTH_CHECK_TIMEOUT_MILLIS_KEY, DEFAULT_HEALTH_CHECK_TIMEOUT_MILLIS);
+        if (intervalMillis < 0 || timeoutMillis <= 0) {
+            throw new IllegalConfigurationException(String.format("Invalid health check of '%s', expected non negative '%s' and positive '%s'.",
+                root, HEALTH_CHECK_INTERVAL_MILLIS_KEY, HEALTH_CHECK_TIMEOUT_MILLIS_KEY));
+        }
+        String type = dbConfig.getString(DATABASE_TYPE_KEY);
+        String query = healthCheck.getString(HEALTH_CHECK_QUERY_KEY, ORACLE_TYPE.equals(type) ? "SELECT 1 FROM DUAL" : "SELECT 1");
+
+        JsonObject primaryConfig = dbConfig.copy();
+        primaryConfig.remove(DATABASE_REPLICAS_KEY);
+        primaryConfig.remove(DATABASE_HEALTH_CHECK_KEY);
+
+        List<JsonObject> replicaConfigs = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Object replica = replicas.getValue(i);
+            if (!(replica instanceof JsonObject)) {
+                throw new IllegalConfigurationException(String.format("Invalid replica '%s' of '%s.%s', expected object.", replica, root, DATABASE_REPLICAS_KEY));
+            }
+            // replica inherits primary configuration, e.g. credentials and pool options, and overrides e.g. host
+            replicaConfigs.add(primaryConfig.copy().mergeIn((JsonObject) replica, true));
+        }
+
+        Pool primary = createPool(vertx, primaryConfig, root, registry);
+        List<Pool> replicaPools = new ArrayList<>(replicaConfigs.size());
+        for (int i = 0; i < replicaConfigs.size(); i++) {
+            replicaPools.add(createPool(vertx, replicaConfigs.get(i), String.format("%s.%s.%d", root, DATABASE_REPLICAS_KEY, i), registry));
+        }
+        LOGGER.info("Sql pool '{}': {} read replicas, health check every {} ms", root, replicaPools.size(), intervalMillis);
+        return new ReadWriteSplitPool(vertx, primary, replicaPools, query, timeoutMillis)
+            .startHealthCheck(intervalMillis);
+    }
+
+    static PoolOptions poolOptions(Vertx vertx, JsonObject dbConfig, String root) {
+        JsonObject poolConfig = Optional.ofNullable(dbConfig.getJsonObject(DATABASE_POOL_KEY))
+            .map(JsonObject::copy)
+            .orElseGet(JsonObject::new);
+        Object eventLoopSize = poolConfig.remove(POOL_EVENT_LOOP_SIZE_KEY);
+
+        PoolOptions poolOptions = new PoolOptions(poolConfig);
+        if (eventLoopSize != null) {
+            poolOptions.setEventLoopSize(eventLoopSize(vertx, eventLoopSize, root));
+        }
+        if (poolOptions.isShared() && !poolConfig.containsKey(POOL_NAME_KEY)) {
+            // default shared name would make pools of different roots the same pool
+            poolOptions.setName(root);
+        }
+        if (poolOptions.isShared() || poolOptions.getEventLoopSize() > 0) {
+            LOGGER.info("Sql pool '{}': shared={}, name={}, maxSize={}, eventLoopSize={}",
+                root, poolOptions.isShared(), poolOptions.getName(), poolOptions.getMaxSize(), poolOptions.getEventLoopSize());
+        }
+        return poolOptions;
     }
 
-    private static PoolOptions poolOptions(JsonObject dbConfig) {
-        return Optional.of(dbConfig)
-            .map(o -> o.getJsonObject(DATABASE_POOL_KEY))
-            .map(PoolOptions::new)
-            .orElseGet(PoolOptions::new);
+    private static int eventLoopSize(Vertx vertx, Object value, String root) {
+        if (value instanceof Integer && (Integer) value >= 0) {
+            return (Integer) value;
+        }
+        if (AUTO_EVENT_LOOP_SIZE.equalsIgnoreCase(value.toString().trim())) {
+            return ConfigInstancesVerticleConfigurer.eventLoops(vertx);
+        }
+        throw new IllegalConfigurationException(String.format("Invalid value '%s' of '%s.%s.%s', expected non negative integer or '%s'.",
+            value, root, DATABASE_POOL_KEY, POOL_EVENT_LOOP_SIZE_KEY, AUTO_EVENT_LOOP_SIZE));
+    }
+
+    private static void validateStatementOptions(String type, JsonObject dbConfig, String root) {
+        if (JDBC_TYPE.equals(type)) {
+            STATEMENT_CACHE_KEYS.stream()
+                .filter(dbConfig::containsKey)
+                .findFirst()
+                .ifPresent(key -> {
+                    throw new IllegalConfigurationException(String.format("Option '%s.%s' is not supported for '%s' database type, configure statement caching in JDBC driver.", root, key, type));
+                });
+        }
+        if (dbConfig.containsKey(DATABASE_PIPELINING_LIMIT_KEY) && !POSTGRESQL_TYPE.equals(type)) {
+            throw new IllegalConfigurationException(String.format("Option '%s.%s' is supported only for '%s' database type.", root, DATABASE_PIPELINING_LIMIT_KEY, POSTGRESQL_TYPE));
+        }
+        Object cachePreparedStatements = dbConfig.getValue(DATABASE_CACHE_PREPARED_STATEMENTS_KEY);
+        if (cachePreparedStatements != null && !(cachePreparedStatements instanceof Boolean)) {
+            throw new IllegalConfigurationException(String.format("Invalid value '%s' of '%s.%s', expected true or false.", cachePreparedStatements, root, DATABASE_CACHE_PREPARED_STATEMENTS_KEY));
+        }
+        for (String key : List.of(DATABASE_PREPARED_STATEMENT_CACHE_MAX_SIZE_KEY, DATABASE_PREPARED_STATEMENT_CACHE_SQL_LIMIT_KEY, DATABASE_PIPELINING_LIMIT_KEY)) {
+            Object value = dbConfig.getValue(key);
+            if (value != null && (!(value instanceof Integer) || (Integer) value <= 0)) {
+                throw new IllegalConfigurationException(String.format("Invalid value '%s' of '%s.%s', expected positive integer.", value, root, key));
+            }
+        }
+    }
+
+    /**
+     * Sets prepared statement cache options defined in configuration, so they are applied regardless of how
+     * connect options read json.
+     */
+    private static <T extends SqlConnectOptions> T statementOptions(T connectOptions, JsonObject dbConfig) {
+        Boolean cachePreparedStatements = dbConfig.getBoolean(DATABASE_CACHE_PREPARED_STATEMENTS_KEY);
+        if (cachePreparedStatements != null) {
+            connectOptions.setCachePreparedStatements(cachePreparedStatements);
+        }
+        Integer maxSize = dbConfig.getInteger(DATABASE_PREPARED_STATEMENT_CACHE_MAX_SIZE_KEY);
+        if (maxSize != null) {
+            connectOptions.setPreparedStatementCacheMaxSize(maxSize);
+        }
+        Integer sqlLimit = dbConfig.getInteger(DATABASE_PREPARED_STATEMENT_CACHE_SQL_LIMIT_KEY);
+        if (sqlLimit != null) {
+            connectOptions.setPreparedStatementCacheSqlLimit(sqlLimit);
+        }
+        return connectOptions;
+    }
+
+    private static void logStatementOptions(String root, SqlConnectOptions connectOptions, JsonObject dbConfig, String extra) {
+        LOGGER.info("Sql pool '{}' for {}:{}/{}: cachePreparedStatements={}, preparedStatementCacheMaxSize={}, preparedStatementCacheSqlLimit={}{}",
+            root, connectOptions.getHost(), connectOptions.getPort(), connectOptions.getDatabase(),
+            connectOptions.getCachePreparedStatements(), connectOptions.getPreparedStatementCacheMaxSize(),
+            dbConfig.getInteger(DATABASE_PREPARED_STATEMENT_CACHE_SQL_LIMIT_KEY, SqlConnectOptions.DEFAULT_PREPARED_STATEMENT_CACHE_SQL_LIMIT),
+            extra);
+    }
+
+    static PgConnectOptions pgConnectOptions(JsonObject dbConfig, String root) {
+        PgConnectOptions connectOptions = statementOptions(new PgConnectOptions(dbConfig), dbConfig);
+        Integer pipeliningLimit = dbConfig.getInteger(DATABASE_PIPELINING_LIMIT_KEY);
+        if (pipeliningLimit != null) {
+            connectOptions.setPipeliningLimit(pipeliningLimit);
+        }
+        logStatementOptions(root, connectOptions, dbConfig, ", pipeliningLimit=" + connectOptions.getPipeliningLimit());
+        return connectOptions;
     }
 
-    private static Pool jdbcPool(Vertx vertx, PoolOptions poolOptions, JsonObject dbConfig) {
+    private static Pool jdbcPool(Vertx vertx, PoolOptions poolOptions, JsonObject dbConfig, String root) {
         JDBCConnectOptions jdbcConnectOptions = new JDBCConnectOptions(dbConfig);
         return JDBCPool.pool(vertx, jdbcConnectOptions, poolOptions);
     }
 
-    private static Pool pgPool(Vertx vertx, PoolOptions poolOptions, final JsonObject dbConfig) {
-        PgConnectOptions connectOptions = new PgConnectOptions(dbConfig);
+    private static Pool pgPool(Vertx vertx, PoolOptions poolOptions, final JsonObject dbConfig, String root) {
+        PgConnectOptions connectOptions = pgConnectOptions(dbConfig, root);
         return PgPool.pool(vertx, connectOptions, poolOptions);
     }
 
-    private static Pool oraclePool(Vertx vertx, PoolOptions poolOptions, final JsonObject dbConfig) {
-        OracleConnectOptions connectOptions = new OracleConnectOptions(dbConfig);
+    private static Pool oraclePool(Vertx vertx, PoolOptions poolOptions, final JsonObject dbConfig, String root) {
+        OracleConnectOptions connectOptions = statementOptions(new OracleConnectOptions(dbConfig), dbConfig);
+        logStatementOptions(root, connectOptions, dbConfig, "");
         return OraclePool.pool(vertx, connectOptions, poolOptions);
     }
 
-    private static Pool mssqlPool(Vertx vertx, PoolOptions poolOptions, final JsonObject dbConfig) {
-        MSSQLConnectOptions connectOptions = new MSSQLConnectOptions(dbConfig);
+    private static Pool mssqlPool(Vertx vertx, PoolOptions poolOptions, final JsonObject dbConfig, String root) {
+        MSSQLConnectOptions connectOptions = statementOptions(new MSSQLConnectOptions(dbConfig), dbConfig);
+        logStatementOptions(root, connectOptions, dbConfig, "");
         return MSSQLPool.pool(vertx, connectOptions, poolOptions);
     }
 
     @FunctionalInterface
     interface PoolFunction {
-        Pool apply(Vertx vertx, PoolOptions poolOptions, JsonObject dbConfig);
+        Pool apply(Vertx vertx, PoolOptions poolOptions, JsonObject dbConfig, String root);
     }
 
 }
@@ -2,13 +2,30 @@ package io.github.balconyseats.vertx.helper.database.sql;
 
 import io.github.balconyseats.vertx.helper.application.InitializationContext;
 import io.github.balconyseats.vertx.helper.application.configurer.InitializationContextConfigurer;
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Pool;
+
+import java.util.Map;
 
 /**
  * Creates {@link io.vertx.sqlclient.Pool} from configuration and
  * adds it to initialization context under "sqlpool" key.
+ * <p>
+ * When configuration contains 'databases' map, pool of each database is added under database name, and pool of
+ * 'database' root is added under "sqlpool" key only when it is configured too. Database name must not be the same as
+ * pool key or key of other object in initialization context, configuration fails and created pools are closed then:
+ * <pre>
+ *     databases:
+ *       oltp:
+ *         type: 'postgresql'
+ *         ...
+ *       reporting:
+ *         type: 'postgresql'
+ *         ...
+ * </pre>
  */
 public class ConfigSqlPoolInitializationContextHandler implements InitializationContextConfigurer {
 
@@ -27,11 +44,32 @@ public class ConfigSqlPoolInitializationContextHandler implements Initialization
     @Override
     public Future<InitializationContext> configure(InitializationContext initializationContext, Vertx vertx, JsonObject config) {
         return Future.future(p -> {
-            initializationContext.add(this.key, ConfigSqlPoolHelper.create(vertx, config));
-            p.complete(initializationContext);
+            Map<String, Pool> pools = ConfigSqlPoolHelper.createAll(vertx, config);
+            try {
+                pools.keySet().forEach(name -> checkNotUsed(initializationContext, name));
+                Pool pool = null;
+                if (pools.isEmpty() || config.containsKey(ConfigSqlPoolHelper.DEFAULT_DATABASE_CONFIG_ROOT)) {
+                    pool = ConfigSqlPoolHelper.create(vertx, config);
+                }
+                pools.forEach(initializationContext::add);
+                if (pool != null) {
+                    initializationContext.add(this.key, pool);
+                }
+                p.complete(initializationContext);
+            } catch (RuntimeException e) {
+                pools.values().forEach(Pool::close);
+                p.fail(e);
+            }
         });
     }
 
+    private void checkNotUsed(InitializationContext initializationContext, String name) {
+        if (name.equals(this.key) || initializationContext.get(name) != null) {
+            throw new IllegalConfigurationException(
+                String.format("Database name '%s' is already used as key in initialization context", name));
+        }
+    }
+
     public static ConfigSqlPoolInitializationContextHandler instance() {
         return new ConfigSqlPoolInitializationContextHandler();
     }
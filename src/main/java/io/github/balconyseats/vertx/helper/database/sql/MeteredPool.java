@@ -0,0 +1,396 @@
+package io.github.balconyseats.vertx.helper.database.sql;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PrepareOptions;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.PreparedStatement;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.SqlResult;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
+import io.vertx.sqlclient.spi.DatabaseMetadata;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * {@link Pool} which records {@link SqlPoolMetrics}, created by {@link ConfigSqlPoolHelper} when 'metrics.enabled' is
+ * set in database configuration. Use {@link #unwrap(Pool)} and {@link #unwrap(SqlConnection)} to access database
+ * client specific types, e.g. {@link io.vertx.pgclient.PgPool}. Connection wait and usage are recorded only for
+ * connections acquired explicitly with {@link #getConnection()}, {@link #withConnection(Function)} and
+ * {@link #withTransaction(Function)}, connections used by pool {@link #query(String)} and {@link #preparedQuery(String)}
+ * are acquired inside wrapped pool and are not counted. Latency is recorded for queries executed with pool.
+ * <p>
+ * Queries are tagged by statement type (e.g. 'select', 'insert'), use {@link #named(Pool, String)} to tag them by name:
+ * </p>
+ * <pre>
+ *     MeteredPool.named(pool, "find-user").preparedQuery("SELECT * FROM users WHERE id = $1").execute(Tuple.of(id));
+ * </pre>
+ */
+public class MeteredPool implements Pool {
+
+    static final String OTHER_QUERY = "other";
+
+    private final Pool delegate;
+    private final SqlPoolMetrics metrics;
+
+    public MeteredPool(Pool delegate, SqlPoolMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns pool created by database client, e.g. {@link io.vertx.pgclient.PgPool}.
+     * @param pool pool, e.g. created with {@link ConfigSqlPoolHelper}
+     * @return wrapped pool when pool is {@link MeteredPool}, otherwise pool itself
+     */
+    public static Pool unwrap(Pool pool) {
+        if (pool instanceof MeteredPool) {
+            return ((MeteredPool) pool).delegate;
+        }
+        return pool;
+    }
+
+    /**
+     * Returns connection created by database client, e.g. {@link io.vertx.pgclient.PgConnection}. Closing returned
+     * connection directly is not recorded, close connection acquired from pool instead.
+     * @param connection connection acquired from pool
+     * @return wrapped connection when connection was acquired from {@link MeteredPool}, otherwise connection itself
+     */
+    public static SqlConnection unwrap(SqlConnection connection) {
+        if (connection instanceof MeteredConnection) {
+            return ((MeteredConnection) connection).connection;
+        }
+        return connection;
+    }
+
+    /**
+     * @return pool created by database client
+     */
+    public Pool unwrap() {
+        return delegate;
+    }
+
+    /**
+     * Returns client which tags query latency of pool with query name.
+     * @param pool pool, e.g. created with {@link ConfigSqlPoolHelper}
+     * @param queryName query name, should have low cardinality
+     * @return named client when pool is {@link MeteredPool}, otherwise pool itself
+     */
+    public static SqlClient named(Pool pool, String queryName) {
+        if (pool instanceof MeteredPool) {
+            return ((MeteredPool) pool).named(queryName);
+        }
+        return pool;
+    }
+
+    /**
+     * @param queryName query name, should have low cardinality
+     * @return client which executes queries with this pool, tagging latency with query name
+     */
+    public SqlClient named(String queryName) {
+        SqlPoolMetrics.QueryTimers timers = metrics.queryTimers(queryName);
+        return new SqlClient() {
+            @Override
+            public Query<RowSet<Row>> query(String sql) {
+                return new MeteredQuery<>(delegate.query(sql), timers);
+            }
+
+            @Override
+            public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+                return new MeteredPreparedQuery<>(delegate.preparedQuery(sql), timers);
+            }
+
+            @Override
+            public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+                return new MeteredPreparedQuery<>(delegate.preparedQuery(sql, options), timers);
+            }
+
+            @Override
+            public void close(Handler<AsyncResult<Void>> handler) {
+                handler.handle(Future.succeededFuture());
+            }
+
+            @Override
+            public Future<Void> close() {
+                return Future.succeededFuture();
+            }
+        };
+    }
+
+    static String statementType(String sql) {
+        int start = 0;
+        int length = sql.length();
+        while (start < length && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < length && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String type = sql.substring(start, end).toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+            case "with":
+            case "call":
+                return type;
+            default:
+                return OTHER_QUERY;
+        }
+    }
+
+    @Override
+    public void getConnection(Handler<AsyncResult<SqlConnection>> handler) {
+        getConnection().onComplete(handler);
+    }
+
+    @Override
+    public Future<SqlConnection> getConnection() {
+        long start = metrics.acquiring();
+        return delegate.getConnection().transform(ar -> {
+            if (ar.failed()) {
+                metrics.acquireFailed();
+                return Future.failedFuture(ar.cause());
+            }
+            metrics.acquired(start);
+            return Future.succeededFuture(new MeteredConnection(ar.result()));
+        });
+    }
+
+    @Override
+    public Query<RowSet<Row>> query(String sql) {
+        return new MeteredQuery<>(delegate.query(sql), metrics.queryTimers(statementType(sql)));
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+        return new MeteredPreparedQuery<>(delegate.preparedQuery(sql), metrics.queryTimers(statementType(sql)));
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+        return new MeteredPreparedQuery<>(delegate.preparedQuery(sql, options), metrics.queryTimers(statementType(sql)));
+    }
+
+    @Override
+    public Pool connectHandler(Handler<SqlConnection> handler) {
+        delegate.connectHandler(handler);
+        return this;
+    }
+
+    @Override
+    public Pool connectionProvider(Function<Context, Future<SqlConnection>> provider) {
+        delegate.connectionProvider(provider);
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> handler) {
+        delegate.close(handler);
+    }
+
+    @Override
+    public Future<Void> close() {
+        return delegate.close();
+    }
+
+    private static class MeteredQuery<T> implements Query<T> {
+        private final Query<T> query;
+        final SqlPoolMetrics.QueryTimers timers;
+
+        private MeteredQuery(Query<T> query, SqlPoolMetrics.QueryTimers timers) {
+            this.query = query;
+            this.timers = timers;
+        }
+
+        @Override
+        public void execute(Handler<AsyncResult<T>> handler) {
+            execute().onComplete(handler);
+        }
+
+        @Override
+        public Future<T> execute() {
+            return record(System.nanoTime(), query.execute(), timers);
+        }
+
+        @Override
+        public <R> Query<SqlResult<R>> collecting(Collector<Row, ?, R> collector) {
+            return new MeteredQuery<>(query.collecting(collector), timers);
+        }
+
+        @Override
+        public <U> Query<RowSet<U>> mapping(Function<Row, U> mapper) {
+            return new MeteredQuery<>(query.mapping(mapper), timers);
+        }
+
+        static <T> Future<T> record(long start, Future<T> result, SqlPoolMetrics.QueryTimers timers) {
+            return result.onComplete(ar -> timers.record(start, ar.succeeded()));
+        }
+    }
+
+    private static class MeteredPreparedQuery<T> extends MeteredQuery<T> implements PreparedQuery<T> {
+        private final PreparedQuery<T> preparedQuery;
+
+        private MeteredPreparedQuery(PreparedQuery<T> preparedQuery, SqlPoolMetrics.QueryTimers timers) {
+            super(preparedQuery, timers);
+            this.preparedQuery = preparedQuery;
+        }
+
+        @Override
+        public void execute(Tuple tuple, Handler<AsyncResult<T>> handler) {
+            execute(tuple).onComplete(handler);
+        }
+
+        @Override
+        public Future<T> execute(Tuple tuple) {
+            return record(System.nanoTime(), preparedQuery.execute(tuple), timers);
+        }
+
+        @Override
+        public void executeBatch(List<Tuple> batch, Handler<AsyncResult<T>> handler) {
+            executeBatch(batch).onComplete(handler);
+        }
+
+        @Override
+        public Future<T> executeBatch(List<Tuple> batch) {
+            return record(System.nanoTime(), preparedQuery.executeBatch(batch), timers);
+        }
+
+        @Override
+        public <R> PreparedQuery<SqlResult<R>> collecting(Collector<Row, ?, R> collector) {
+            return new MeteredPreparedQuery<>(preparedQuery.collecting(collector), timers);
+        }
+
+        @Override
+        public <U> PreparedQuery<RowSet<U>> mapping(Function<Row, U> mapper) {
+            return new MeteredPreparedQuery<>(preparedQuery.mapping(mapper), timers);
+        }
+    }
+
+    /**
+     * Connection which is counted as in use until it is closed.
+     */
+    private class MeteredConnection implements SqlConnection {
+        private final SqlConnection connection;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Handler<Void> closeHandler;
+
+        private MeteredConnection(SqlConnection connection) {
+            this.connection = connection;
+            // connection closed by server is no longer in use either
+            connection.closeHandler(v -> {
+                release();
+                Handler<Void> handler = closeHandler;
+                if (handler != null) {
+                    handler.handle(v);
+                }
+            });
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                metrics.released();
+            }
+        }
+
+        @Override
+        public SqlConnection prepare(String sql, Handler<AsyncResult<PreparedStatement>> handler) {
+            connection.prepare(sql, handler);
+            return this;
+        }
+
+        @Override
+        public Future<PreparedStatement> prepare(String sql) {
+            return connection.prepare(sql);
+        }
+
+        @Override
+        public SqlConnection prepare(String sql, PrepareOptions options, Handler<AsyncResult<PreparedStatement>> handler) {
+            connection.prepare(sql, options, handler);
+            return this;
+        }
+
+        @Override
+        public Future<PreparedStatement> prepare(String sql, PrepareOptions options) {
+            return connection.prepare(sql, options);
+        }
+
+        @Override
+        public SqlConnection exceptionHandler(Handler<Throwable> handler) {
+            connection.exceptionHandler(handler);
+            return this;
+        }
+
+        @Override
+        public SqlConnection closeHandler(Handler<Void> handler) {
+            this.closeHandler = handler;
+            return this;
+        }
+
+        @Override
+        public void begin(Handler<AsyncResult<Transaction>> handler) {
+            connection.begin(handler);
+        }
+
+        @Override
+        public Future<Transaction> begin() {
+            return connection.begin();
+        }
+
+        @Override
+        public boolean isSSL() {
+            return connection.isSSL();
+        }
+
+        @Override
+        public Query<RowSet<Row>> query(String sql) {
+            return connection.query(sql);
+        }
+
+        @Override
+        public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+            return connection.preparedQuery(sql);
+        }
+
+        @Override
+        public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+            return connection.preparedQuery(sql, options);
+        }
+
+        @Override
+        public void close(Handler<AsyncResult<Void>> handler) {
+            close().onComplete(handler);
+        }
+
+        @Override
+        public Future<Void> close() {
+            release();
+            return connection.close();
+        }
+
+        @Override
+        public DatabaseMetadata databaseMetadata() {
+            return connection.databaseMetadata();
+        }
+    }
+
+}
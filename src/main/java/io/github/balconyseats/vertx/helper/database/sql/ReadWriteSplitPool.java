@@ -0,0 +1,393 @@
+package io.github.balconyseats.vertx.helper.database.sql;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PrepareOptions;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.SqlResult;
+import io.vertx.sqlclient.Tuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link Pool} facade over primary pool and read replica pools.
+ * <p>
+ * All {@link Pool} operations (queries, connections, transactions) use primary pool, so writes and reads which must
+ * see them are not affected by replication lag. Read only queries are executed with {@link #readOnly()} client, which
+ * uses replica pools in round-robin order. Replicas are checked periodically with health check query, replica is
+ * skipped while its check fails, and primary pool is used when no replica is healthy. When read only query fails because
+ * replica connection failed or was closed, query is retried once on primary pool and replica is skipped until its next
+ * successful health check.
+ * </p>
+ *
+ * <pre>
+ *     SqlClient reads = ReadWriteSplitPool.readOnly(pool);
+ *     reads.preparedQuery("SELECT * FROM users WHERE id = $1").execute(Tuple.of(id));
+ * </pre>
+ */
+public class ReadWriteSplitPool implements Pool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteSplitPool.class);
+
+    private final Vertx vertx;
+    private final Pool primary;
+    private final List<Replica> replicas;
+    private final String healthCheckQuery;
+    private final long healthCheckTimeoutMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final SqlClient readOnly = new ReadOnlyClient();
+    private long healthCheckTimerId = -1;
+
+    ReadWriteSplitPool(Vertx vertx, Pool primary, List<Pool> replicas, String healthCheckQuery, long healthCheckTimeoutMillis) {
+        this.vertx = vertx;
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+            .mapToObj(i -> new Replica(i, replicas.get(i)))
+            .collect(Collectors.toUnmodifiableList());
+        this.healthCheckQuery = healthCheckQuery;
+        this.healthCheckTimeoutMillis = healthCheckTimeoutMillis;
+    }
+
+    /**
+     * Returns client for read only queries of pool.
+     * @param pool pool, e.g. created with {@link ConfigSqlPoolHelper}
+     * @return replicas client when pool is {@link ReadWriteSplitPool}, otherwise pool itself
+     */
+    public static SqlClient readOnly(Pool pool) {
+        if (pool instanceof ReadWriteSplitPool) {
+            return ((ReadWriteSplitPool) pool).readOnly();
+        }
+        return pool;
+    }
+
+    /**
+     * Returns client which executes queries on healthy replica, or on primary when no replica is healthy.
+     * Query which fails on replica connection is retried on primary. Closing returned client does not close pools.
+     * @return read only client
+     */
+    public SqlClient readOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @return primary pool
+     */
+    public Pool primary() {
+        return primary;
+    }
+
+    synchronized ReadWriteSplitPool startHealthCheck(long intervalMillis) {
+        if (healthCheckTimerId == -1 && intervalMillis > 0 && !replicas.isEmpty()) {
+            healthCheckTimerId = vertx.setPeriodic(intervalMillis, id -> checkHealth());
+        }
+        return this;
+    }
+
+    Future<Void> checkHealth() {
+        List<Future> checks = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            checks.add(replica.check());
+        }
+        return CompositeFuture.join(checks).<Void>mapEmpty().otherwiseEmpty();
+    }
+
+    private synchronized boolean healthCheckStarted() {
+        return healthCheckTimerId != -1;
+    }
+
+    Pool readPool() {
+        Replica replica = readReplica();
+        return replica != null ? replica.pool : primary;
+    }
+
+    private Replica readReplica() {
+        int size = replicas.size();
+        if (size > 0) {
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (replica.healthy) {
+                    return replica;
+                }
+            }
+        }
+        return null;
+    }
+
+    private <Q, T> Future<T> execute(Replica replica, Q query, Supplier<Q> primaryQuery, Function<Q, Future<T>> execution) {
+        if (replica == null) {
+            return execution.apply(query);
+        }
+        return execution.apply(query).recover(failure -> {
+            if (!isConnectionFailure(failure)) {
+                return Future.failedFuture(failure);
+            }
+            replica.connectionFailed(failure);
+            return execution.apply(primaryQuery.get());
+        });
+    }
+
+    /**
+     * Connection failures are I/O errors (connection refused, reset, ...) and failures of requests on closed connection,
+     * other failures (e.g. sql errors) are returned to caller.
+     */
+    private static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+            String message = cause.getMessage();
+            if (message != null && (message.contains("connection has been closed") || message.startsWith("Connection is not active"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void getConnection(Handler<AsyncResult<SqlConnection>> handler) {
+        primary.getConnection(handler);
+    }
+
+    @Override
+    public Future<SqlConnection> getConnection() {
+        return primary.getConnection();
+    }
+
+    @Override
+    public Query<RowSet<Row>> query(String sql) {
+        return primary.query(sql);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+        return primary.preparedQuery(sql);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+        return primary.preparedQuery(sql, options);
+    }
+
+    @Override
+    public Pool connectHandler(Handler<SqlConnection> handler) {
+        primary.connectHandler(handler);
+        replicas.forEach(replica -> replica.pool.connectHandler(handler));
+        return this;
+    }
+
+    @Override
+    public Pool connectionProvider(Function<Context, Future<SqlConnection>> provider) {
+        primary.connectionProvider(provider);
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return primary.size();
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> handler) {
+        close().onComplete(handler);
+    }
+
+    @Override
+    public Future<Void> close() {
+        synchronized (this) {
+            if (healthCheckTimerId != -1) {
+                vertx.cancelTimer(healthCheckTimerId);
+                healthCheckTimerId = -1;
+            }
+        }
+        List<Future> closing = new ArrayList<>(replicas.size() + 1);
+        closing.add(primary.close());
+        replicas.forEach(replica -> closing.add(replica.pool.close()));
+        return CompositeFuture.join(closing).mapEmpty();
+    }
+
+    private class Replica {
+        private final int index;
+        private final Pool pool;
+        private volatile boolean healthy = true;
+
+        private Replica(int index, Pool pool) {
+            this.index = index;
+            this.pool = pool;
+        }
+
+        private Future<Void> check() {
+            Promise<Void> promise = Promise.promise();
+            long timerId = vertx.setTimer(healthCheckTimeoutMillis,
+                id -> promise.tryFail(new TimeoutException(String.format("Health check timed out after %d ms", healthCheckTimeoutMillis))));
+            pool.query(healthCheckQuery).execute().onComplete(ar -> {
+                vertx.cancelTimer(timerId);
+                if (ar.succeeded()) {
+                    promise.tryComplete();
+                } else {
+                    promise.tryFail(ar.cause());
+                }
+            });
+            return promise.future().onComplete(ar -> {
+                if (ar.succeeded() && !healthy) {
+                    LOGGER.info("Sql replica pool {} is healthy again", index);
+                    healthy = true;
+                } else if (ar.failed() && healthy) {
+                    LOGGER.warn("Sql replica pool {} health check failed, using other replicas until it recovers", index, ar.cause());
+                    healthy = false;
+                }
+            });
+        }
+
+        private void connectionFailed(Throwable failure) {
+            // without periodic health check replica would never be used again
+            if (healthy && healthCheckStarted()) {
+                LOGGER.warn("Sql replica pool {} connection failed, using other replicas until its health check succeeds", index, failure);
+                healthy = false;
+            }
+        }
+    }
+
+    private class ReadOnlyClient implements SqlClient {
+
+        @Override
+        public Query<RowSet<Row>> query(String sql) {
+            return new ReadOnlyQuery<>(readReplica(), client -> client.query(sql));
+        }
+
+        @Override
+        public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+            return new ReadOnlyPreparedQuery<>(readReplica(), client -> client.preparedQuery(sql));
+        }
+
+        @Override
+        public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+            return new ReadOnlyPreparedQuery<>(readReplica(), client -> client.preparedQuery(sql, options));
+        }
+
+        @Override
+        public void close(Handler<AsyncResult<Void>> handler) {
+            handler.handle(Future.succeededFuture());
+        }
+
+        @Override
+        public Future<Void> close() {
+            return Future.succeededFuture();
+        }
+    }
+
+    private class ReadOnlyQuery<T> implements Query<T> {
+        private final Replica replica;
+        private final Function<SqlClient, Query<T>> factory;
+        private final Query<T> query;
+
+        private ReadOnlyQuery(Replica replica, Function<SqlClient, Query<T>> factory) {
+            this.replica = replica;
+            this.factory = factory;
+            this.query = factory.apply(replica != null ? replica.pool : primary);
+        }
+
+        private <R> Future<R> withFailover(Function<Query<T>, Future<R>> execution) {
+            return ReadWriteSplitPool.this.execute(replica, query, () -> factory.apply(primary), execution);
+        }
+
+        @Override
+        public void execute(Handler<AsyncResult<T>> handler) {
+            execute().onComplete(handler);
+        }
+
+        @Override
+        public Future<T> execute() {
+            return withFailover(Query::execute);
+        }
+
+        @Override
+        public <R> Query<SqlResult<R>> collecting(Collector<Row, ?, R> collector) {
+            return new ReadOnlyQuery<>(replica, client -> factory.apply(client).collecting(collector));
+        }
+
+        @Override
+        public <U> Query<RowSet<U>> mapping(Function<Row, U> mapper) {
+            return new ReadOnlyQuery<>(replica, client -> factory.apply(client).mapping(mapper));
+        }
+    }
+
+    private class ReadOnlyPreparedQuery<T> implements PreparedQuery<T> {
+        private final Replica replica;
+        private final Function<SqlClient, PreparedQuery<T>> factory;
+        private final PreparedQuery<T> query;
+
+        private ReadOnlyPreparedQuery(Replica replica, Function<SqlClient, PreparedQuery<T>> factory) {
+            this.replica = replica;
+            this.factory = factory;
+            this.query = factory.apply(replica != null ? replica.pool : primary);
+        }
+
+        private <R> Future<R> withFailover(Function<PreparedQuery<T>, Future<R>> execution) {
+            return ReadWriteSplitPool.this.execute(replica, query, () -> factory.apply(primary), execution);
+        }
+
+        @Override
+        public void execute(Handler<AsyncResult<T>> handler) {
+            execute().onComplete(handler);
+        }
+
+        @Override
+        public Future<T> execute() {
+            return withFailover(PreparedQuery::execute);
+        }
+
+        @Override
+        public void execute(Tuple tuple, Handler<AsyncResult<T>> handler) {
+            execute(tuple).onComplete(handler);
+        }
+
+        @Override
+        public Future<T> execute(Tuple tuple) {
+            return withFailover(query -> query.execute(tuple));
+        }
+
+        @Override
+        public void executeBatch(List<Tuple> batch, Handler<AsyncResult<T>> handler) {
+            executeBatch(batch).onComplete(handler);
+        }
+
+        @Override
+        public Future<T> executeBatch(List<Tuple> batch) {
+            return withFailover(query -> query.executeBatch(batch));
+        }
+
+        @Override
+        public <R> PreparedQuery<SqlResult<R>> collecting(Collector<Row, ?, R> collector) {
+            return new ReadOnlyPreparedQuery<>(replica, client -> factory.apply(client).collecting(collector));
+        }
+
+        @Override
+        public <U> PreparedQuery<RowSet<U>> mapping(Function<Row, U> mapper) {
+            return new ReadOnlyPreparedQuery<>(replica, client -> factory.apply(client).mapping(mapper));
+        }
+    }
+
+}
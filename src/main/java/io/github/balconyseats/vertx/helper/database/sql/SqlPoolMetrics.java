@@ -0,0 +1,147 @@
+package io.github.balconyseats.vertx.helper.database.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sql pool metrics registered to Micrometer {@link MeterRegistry}, all tagged by 'pool' (database config root):
+ * <ul>
+ *     <li>'sql.pool.connection.wait' - timer of time spent waiting for connection</li>
+ *     <li>'sql.pool.connection.acquire.failures' - counter of failed connection acquisitions, e.g. wait queue full
+ *     or timeout</li>
+ *     <li>'sql.pool.connection.in.use' - gauge of connections acquired and not closed yet</li>
+ *     <li>'sql.pool.connection.pending' - gauge of connection acquisitions waiting for connection</li>
+ *     <li>'sql.query' - timer of pool query latency tagged by 'query' (query name or statement type) and 'result'
+ *     (success, failure)</li>
+ * </ul>
+ * Connection meters count only connections acquired explicitly with {@link io.vertx.sqlclient.Pool#getConnection()},
+ * {@link io.vertx.sqlclient.Pool#withConnection(java.util.function.Function)} and
+ * {@link io.vertx.sqlclient.Pool#withTransaction(java.util.function.Function)}. Connections which pool acquires
+ * internally for its own 'query' and 'preparedQuery' are not visible to the wrapper and are not counted, these
+ * queries are recorded only by 'sql.query'.
+ * <p>
+ * Pools created for the same config root, e.g. by each verticle instance, share metrics of that root.
+ * </p>
+ */
+public class SqlPoolMetrics {
+
+    public static final String POOL_CONNECTION_WAIT_TIMER = "sql.pool.connection.wait";
+    public static final String POOL_CONNECTION_ACQUIRE_FAILURES_COUNTER = "sql.pool.connection.acquire.failures";
+    public static final String POOL_CONNECTION_IN_USE_GAUGE = "sql.pool.connection.in.use";
+    public static final String POOL_CONNECTION_PENDING_GAUGE = "sql.pool.connection.pending";
+    public static final String QUERY_TIMER = "sql.query";
+
+    // weak keys, metrics do not keep registry reachable
+    private static final Map<MeterRegistry, Map<String, SqlPoolMetrics>> INSTANCES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<MeterRegistry> registry;
+    private final String pool;
+    private final Timer waitTimer;
+    private final Counter acquireFailures;
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<String, QueryTimers> queryTimers = new ConcurrentHashMap<>();
+
+    SqlPoolMetrics(MeterRegistry registry, String pool) {
+        this.registry = new WeakReference<>(registry);
+        this.pool = pool;
+        this.waitTimer = Timer.builder(POOL_CONNECTION_WAIT_TIMER)
+            .tag("pool", pool)
+            .register(registry);
+        this.acquireFailures = Counter.builder(POOL_CONNECTION_ACQUIRE_FAILURES_COUNTER)
+            .tag("pool", pool)
+            .register(registry);
+        Gauge.builder(POOL_CONNECTION_IN_USE_GAUGE, inUse, AtomicInteger::get)
+            .tag("pool", pool)
+            .register(registry);
+        Gauge.builder(POOL_CONNECTION_PENDING_GAUGE, pending, AtomicInteger::get)
+            .tag("pool", pool)
+            .register(registry);
+    }
+
+    /**
+     * Returns metrics of pool registered to registry, gauges can be registered only once per pool.
+     * @param registry meter registry
+     * @param pool pool name (database config root)
+     * @return {@link SqlPoolMetrics} instance
+     */
+    public static SqlPoolMetrics instance(MeterRegistry registry, String pool) {
+        return INSTANCES.computeIfAbsent(registry, r -> new ConcurrentHashMap<>())
+            .computeIfAbsent(pool, p -> new SqlPoolMetrics(registry, p));
+    }
+
+    /**
+     * Called when connection is requested.
+     * @return start time to pass to {@link #acquired(long)} or {@link #acquireFailed()}
+     */
+    long acquiring() {
+        pending.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    void acquired(long start) {
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        pending.decrementAndGet();
+        inUse.incrementAndGet();
+    }
+
+    void acquireFailed() {
+        pending.decrementAndGet();
+        acquireFailures.increment();
+    }
+
+    void released() {
+        inUse.decrementAndGet();
+    }
+
+    QueryTimers queryTimers(String query) {
+        QueryTimers timers = queryTimers.get(query);
+        if (timers == null) {
+            timers = queryTimers.computeIfAbsent(query, QueryTimers::new);
+        }
+        return timers;
+    }
+
+    /**
+     * Query latency timers of one query name, registered once so recording does not look up registry.
+     */
+    class QueryTimers {
+        private final Timer success;
+        private final Timer failure;
+
+        private QueryTimers(String query) {
+            this.success = queryTimer(query, "success");
+            this.failure = queryTimer(query, "failure");
+        }
+
+        void record(long start, boolean succeeded) {
+            Timer timer = succeeded ? success : failure;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer queryTimer(String query, String result) {
+            MeterRegistry meterRegistry = registry.get();
+            if (meterRegistry == null) {
+                return null;
+            }
+            return Timer.builder(QUERY_TIMER)
+                .tag("pool", pool)
+                .tag("query", query)
+                .tag("result", result)
+                .register(meterRegistry);
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+package io.github.balconyseats.vertx.helper.http;
+
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.http.Http2Settings;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates {@link HttpServerOptions} using configuration data:
+ *
+ * <pre>
+ *     http:
+ *       server:
+ *         port: 8080
+ *         tcpNoDelay: true
+ *         tcpFastOpen: true
+ *         tcpQuickAck: true
+ *         reusePort: true
+ *         acceptBacklog: 1024
+ *         sendBufferSize: 65536
+ *         receiveBufferSize: 65536
+ *         idleTimeoutSeconds: 60
+ *         compression:
+ *           enabled: true
+ *           level: 6
+ *         http2:
+ *           enabled: true
+ *           initialWindowSize: 1048576
+ *           connectionWindowSize: 4194304
+ *           maxConcurrentStreams: 256
+ *           headerTableSize: 4096
+ * </pre>
+ *
+ * Values which are not defined keep {@link HttpServerOptions} defaults. 'tcpFastOpen', 'tcpQuickAck' and 'reusePort'
+ * are applied only with native transport (see
+ * {@link io.github.balconyseats.vertx.helper.application.configurer.options.ConfigVertxOptionsConfigurer}).
+ * <p>
+ * When 'http2.enabled' is true, ALPN is enabled so h2 can be negotiated on TLS connections and HTTP/1.1 stays
+ * available. This configurer does not configure TLS, 'ssl' and key store must be set on returned options by
+ * custom configurer, e.g. one which wraps this configurer; without TLS 'http2.enabled' has no effect and
+ * {@link HttpServerVerticle} logs warning on start. Cleartext HTTP/2 (h2c) with upgrade or prior knowledge is always
+ * accepted by Vert.x server. Stream settings are sent to clients as initial HTTP/2 settings for both h2 and h2c
+ * connections.
+ * </p>
+ * <p>
+ * Compression thresholds and precompressed responses are configured in the same 'compression' block, see
+ * {@link io.github.balconyseats.vertx.helper.http.handlers.ConfigCompressionHandler} and
+ * {@link io.github.balconyseats.vertx.helper.http.handlers.PrecompressedResponseCache}.
+ * </p>
+ */
+public class ConfigHttpServerOptionsConfigurer implements Configurer<HttpServerOptions> {
+
+    public static final String CONFIG_HTTP_SERVER_TCP_NO_DELAY = "/http/server/tcpNoDelay";
+    public static final String CONFIG_HTTP_SERVER_TCP_FAST_OPEN = "/http/server/tcpFastOpen";
+    public static final String CONFIG_HTTP_SERVER_TCP_QUICK_ACK = "/http/server/tcpQuickAck";
+    public static final String CONFIG_HTTP_SERVER_REUSE_PORT = "/http/server/reusePort";
+    public static final String CONFIG_HTTP_SERVER_ACCEPT_BACKLOG = "/http/server/acceptBacklog";
+    public static final String CONFIG_HTTP_SERVER_SEND_BUFFER_SIZE = "/http/server/sendBufferSize";
+    public static final String CONFIG_HTTP_SERVER_RECEIVE_BUFFER_SIZE = "/http/server/receiveBufferSize";
+    public static final String CONFIG_HTTP_SERVER_IDLE_TIMEOUT_SECONDS = "/http/server/idleTimeoutSeconds";
+    public static final String CONFIG_HTTP_SERVER_COMPRESSION_ENABLED = "/http/server/compression/enabled";
+    public static final String CONFIG_HTTP_SERVER_COMPRESSION_LEVEL = "/http/server/compression/level";
+    public static final String CONFIG_HTTP_SERVER_HTTP2_ENABLED = "/http/server/http2/enabled";
+    public static final String CONFIG_HTTP_SERVER_HTTP2_INITIAL_WINDOW_SIZE = "/http/server/http2/initialWindowSize";
+    public static final String CONFIG_HTTP_SERVER_HTTP2_CONNECTION_WINDOW_SIZE = "/http/server/http2/connectionWindowSize";
+    public static final String CONFIG_HTTP_SERVER_HTTP2_MAX_CONCURRENT_STREAMS = "/http/server/http2/maxConcurrentStreams";
+    public static final String CONFIG_HTTP_SERVER_HTTP2_HEADER_TABLE_SIZE = "/http/server/http2/headerTableSize";
+
+    public static ConfigHttpServerOptionsConfigurer instance() {
+        return new ConfigHttpServerOptionsConfigurer();
+    }
+
+    @Override
+    public HttpServerOptions configure(JsonObject config) {
+        HttpServerOptions options = new HttpServerOptions();
+
+        Integer port = JsonObjectHelper.getInteger(HttpServerVerticle.CONFIG_HTTP_SERVER_PORT, config);
+        if (port != null) {
+            options.setPort(port);
+        }
+        if (isDefined(CONFIG_HTTP_SERVER_TCP_NO_DELAY, config)) {
+            options.setTcpNoDelay(JsonObjectHelper.getBoolean(CONFIG_HTTP_SERVER_TCP_NO_DELAY, config));
+        }
+        if (isDefined(CONFIG_HTTP_SERVER_TCP_FAST_OPEN, config)) {
+            options.setTcpFastOpen(JsonObjectHelper.getBoolean(CONFIG_HTTP_SERVER_TCP_FAST_OPEN, config));
+        }
+        if (isDefined(CONFIG_HTTP_SERVER_TCP_QUICK_ACK, config)) {
+            options.setTcpQuickAck(JsonObjectHelper.getBoolean(CONFIG_HTTP_SERVER_TCP_QUICK_ACK, config));
+        }
+        if (isDefined(CONFIG_HTTP_SERVER_REUSE_PORT, config)) {
+            options.setReusePort(JsonObjectHelper.getBoolean(CONFIG_HTTP_SERVER_REUSE_PORT, config));
+        }
+        Integer acceptBacklog = JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_ACCEPT_BACKLOG, config);
+        if (acceptBacklog != null) {
+            options.setAcceptBacklog(acceptBacklog);
+        }
+        Integer sendBufferSize = JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_SEND_BUFFER_SIZE, config);
+        if (sendBufferSize != null) {
+            options.setSendBufferSize(sendBufferSize);
+        }
+        Integer receiveBufferSize = JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_RECEIVE_BUFFER_SIZE, config);
+        if (receiveBufferSize != null) {
+            options.setReceiveBufferSize(receiveBufferSize);
+        }
+        Integer idleTimeout = JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_IDLE_TIMEOUT_SECONDS, config);
+        if (idleTimeout != null) {
+            options.setIdleTimeout(idleTimeout).setIdleTimeoutUnit(TimeUnit.SECONDS);
+        }
+        if (JsonObjectHelper.getBoolean(CONFIG_HTTP_SERVER_COMPRESSION_ENABLED, config)) {
+            options.setCompressionSupported(true);
+            Integer compressionLevel = JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_COMPRESSION_LEVEL, config);
+            if (compressionLevel != null) {
+                options.setCompressionLevel(compressionLevel);
+            }
+        }
+
+        configureHttp2(options, config);
+
+        return options;
+    }
+
+    private void configureHttp2(HttpServerOptions options, JsonObject config) {
+        if (JsonObjectHelper.getBoolean(CONFIG_HTTP_SERVER_HTTP2_ENABLED, config)) {
+            options.setUseAlpn(true)
+                .setAlpnVersions(List.of(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1));
+        }
+
+        Http2Settings settings = options.getInitialSettings();
+        try {
+            Integer initialWindowSize = JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_HTTP2_INITIAL_WINDOW_SIZE, config);
+            if (initialWindowSize != null) {
+                settings.setInitialWindowSize(initialWindowSize);
+            }
+            Long maxConcurrentStreams = JsonObjectHelper.getLong(CONFIG_HTTP_SERVER_HTTP2_MAX_CONCURRENT_STREAMS, config);
+            if (maxConcurrentStreams != null) {
+                settings.setMaxConcurrentStreams(maxConcurrentStreams);
+            }
+            Long headerTableSize = JsonObjectHelper.getLong(CONFIG_HTTP_SERVER_HTTP2_HEADER_TABLE_SIZE, config);
+            if (headerTableSize != null) {
+                settings.setHeaderTableSize(headerTableSize);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalConfigurationException(String.format("Invalid http2 settings: %s", e.getMessage()), e);
+        }
+
+        Integer connectionWindowSize = JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_HTTP2_CONNECTION_WINDOW_SIZE, config);
+        if (connectionWindowSize != null) {
+            options.setHttp2ConnectionWindowSize(connectionWindowSize);
+        }
+    }
+
+    private static boolean isDefined(String path, JsonObject config) {
+        return JsonObjectHelper.getValue(path, config) != null;
+    }
+
+}
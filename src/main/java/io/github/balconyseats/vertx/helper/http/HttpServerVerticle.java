@@ -1,5 +1,7 @@
 package io.github.balconyseats.vertx.helper.http;
 
+import io.github.balconyseats.vertx.helper.http.handlers.ConfigBodyHandler;
+import io.github.balconyseats.vertx.helper.http.handlers.TracePropagationRouterHandler;
 import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.CompositeFuture;
@@ -7,6 +9,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
@@ -25,12 +28,20 @@ import java.util.stream.Collectors;
  *     http:
  *       server:
  *          port: 8080
+ *          instances: auto
  * </pre>
+ * 'instances' is used when verticle configurer is wrapped with
+ * {@link io.github.balconyseats.vertx.helper.application.configurer.ConfigInstancesVerticleConfigurer}
+ * using {@link #CONFIG_HTTP_SERVER_INSTANCES}, Vert.x then shares server port between instances.
+ * If http server options configurer is not set, {@link ConfigHttpServerOptionsConfigurer} is used.
+ * Request bodies are handled by body handler wrapped with {@link ConfigBodyHandler}.
+ * Trace context headers are extracted with {@link TracePropagationRouterHandler} when 'tracing.propagation' is enabled.
  */
 public class HttpServerVerticle extends AbstractVerticle {
 
     // Configurations
     public static final String CONFIG_HTTP_SERVER_PORT = "/http/server/port";
+    public static final String CONFIG_HTTP_SERVER_INSTANCES = "/http/server/instances";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpServerVerticle.class);
     private static final Integer DEFAULT_PORT = 8080;
@@ -53,7 +64,7 @@ public class HttpServerVerticle extends AbstractVerticle {
         this.subrouterConfigurers = subrouterConfigurers;
         this.routerHandlers = routerHandlers;
         this.simpleRouterHandlers = simpleRouterHandlers;
-        this.httpServerOptionsConfigurer = Objects.requireNonNullElseGet(httpServerOptionsConfigurer, () -> c -> new HttpServerOptions());
+        this.httpServerOptionsConfigurer = Objects.requireNonNullElseGet(httpServerOptionsConfigurer, ConfigHttpServerOptionsConfigurer::instance);
     }
 
     public static HttpServerVerticleBuilder builder() {
@@ -65,11 +76,11 @@ public class HttpServerVerticle extends AbstractVerticle {
         subrouters()
             .flatMap(this::commonRouter)
             .onSuccess(router ->
-                this.vertx.createHttpServer(this.httpServerOptionsConfigurer.configure(this.config))
+                this.vertx.createHttpServer(httpServerOptions())
                     .requestHandler(router)
                     .listen(JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_PORT, config, DEFAULT_PORT))
                     .onSuccess(server -> {
-                        LOGGER.info("Http server started on port {}", server.actualPort());
+                        LOGGER.info("Http server started on port {} using {} transport", server.actualPort(), transport());
                         startPromise.complete();
                     })
                     .onFailure(t -> {
@@ -84,6 +95,24 @@ public class HttpServerVerticle extends AbstractVerticle {
 
     }
 
+    private HttpServerOptions httpServerOptions() {
+        HttpServerOptions options = this.httpServerOptionsConfigurer.configure(this.config);
+        if (options.isUseAlpn() && !options.isSsl()) {
+            LOGGER.warn("ALPN is enabled but TLS is not configured, http2 is available only as cleartext h2c");
+        }
+        return options;
+    }
+
+    /**
+     * @return name of active transport, e.g. 'EpollTransport' for native epoll transport or 'nio'
+     */
+    private String transport() {
+        if (vertx.isNativeTransportEnabled()) {
+            return ((VertxInternal) vertx).transport().getClass().getSimpleName();
+        }
+        return "nio";
+    }
+
     private Future<List<Pair<String, Router>>> subrouters() {
         Promise<List<Pair<String, Router>>> promise = Promise.promise();
 
@@ -111,8 +140,11 @@ public class HttpServerVerticle extends AbstractVerticle {
         Promise<Router> promise = Promise.promise();
         Router router = Router.router(vertx);
 
+        //extract propagated trace context
+        new TracePropagationRouterHandler().apply(this.vertx, router, this.config);
+
         //add bodyHandler
-        router.route().handler(this.bodyHandler);
+        router.route().handler(ConfigBodyHandler.create(this.config, this.bodyHandler));
 
         //add custom route customizers
         if (this.routerHandlers != null) {
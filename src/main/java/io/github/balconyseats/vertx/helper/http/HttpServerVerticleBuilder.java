@@ -29,6 +29,16 @@ public class HttpServerVerticleBuilder {
         return this;
     }
 
+    /**
+     * Add body handler, configured by {@link io.github.balconyseats.vertx.helper.http.handlers.ConfigBodyHandler}
+     * @param bodyHandler body handler
+     * @return this instance
+     */
+    public HttpServerVerticleBuilder bodyHandler(BodyHandler bodyHandler) {
+        this.bodyHandler = bodyHandler;
+        return this;
+    }
+
     /**
      * Add subrouter configurers {@link RouterConfigurer}
      * @param subrouterConfigurers list of configurers
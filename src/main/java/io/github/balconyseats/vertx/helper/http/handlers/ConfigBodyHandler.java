@@ -0,0 +1,219 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Body handler that buffers request body only for configured methods and content types, using configuration data:
+ *
+ * <pre>
+ *     http:
+ *       body:
+ *         enabled: true
+ *         methods: ['POST', 'PUT', 'PATCH', 'DELETE']
+ *         contentTypes: ['application/json']
+ *         maxSizeBytes: 1048576
+ *         handleFileUploads: false
+ *         streaming:
+ *           paths: ['/upload/*']
+ *         routes:
+ *           - path: '/api/*'
+ *             methods: ['POST', 'PUT']
+ *           - path: '/import/*'
+ *             maxSizeBytes: 10485760
+ *           - path: '/proxy/*'
+ *             enabled: false
+ * </pre>
+ *
+ * Without configuration body of every request is buffered, as with plain {@link BodyHandler}. If 'methods' is defined,
+ * only bodies of these methods are buffered. If 'contentTypes' is defined, only bodies of these content types and of
+ * requests without 'Content-Type' header are buffered. 'maxSizeBytes' and 'handleFileUploads' are applied to wrapped
+ * {@link BodyHandler}. When 'enabled' is false, body is not buffered and routers are expected to add their own
+ * body handlers.
+ * <p>
+ * 'routes' override 'enabled', 'methods', 'contentTypes' and 'maxSizeBytes' for requests on 'path', settings which
+ * are not defined by route are taken from 'body'. The first route matching request path is used, 'path' is matched
+ * as streaming paths below. Route with own 'maxSizeBytes' buffers body with new {@link BodyHandler} created at
+ * construction, which uses only 'maxSizeBytes' and 'handleFileUploads', other settings of passed body handler
+ * are not applied to it.
+ * </p>
+ * <p>
+ * Request whose body is not buffered is paused, so the body is not lost before route handler or its own body
+ * handler reads it.
+ * </p>
+ * <p>
+ * Requests on 'streaming.paths' are not buffered. The request is paused, so route handlers receive it
+ * as a {@link io.vertx.core.streams.ReadStream} and should consume it with
+ * {@link io.vertx.core.http.HttpServerRequest#pipeTo(io.vertx.core.streams.WriteStream)}, or set their handlers and
+ * call {@link io.vertx.core.http.HttpServerRequest#resume()}. Path ending with '*' matches all paths with that prefix.
+ * </p>
+ */
+public class ConfigBodyHandler implements Handler<RoutingContext> {
+
+    public static final String CONFIG_HTTP_BODY_ENABLED = "/http/body/enabled";
+    public static final String CONFIG_HTTP_BODY_METHODS = "/http/body/methods";
+    public static final String CONFIG_HTTP_BODY_CONTENT_TYPES = "/http/body/contentTypes";
+    public static final String CONFIG_HTTP_BODY_MAX_SIZE_BYTES = "/http/body/maxSizeBytes";
+    public static final String CONFIG_HTTP_BODY_HANDLE_FILE_UPLOADS = "/http/body/handleFileUploads";
+    public static final String CONFIG_HTTP_BODY_STREAMING_PATHS = "/http/body/streaming/paths";
+    public static final String CONFIG_HTTP_BODY_ROUTES = "/http/body/routes";
+
+    /**
+     * Routing context data key set to true when request body is streamed.
+     */
+    public static final String STREAMING_BODY_KEY = "streamingBody";
+
+    private final Boolean handleFileUploads;
+    private final BodyRule defaultRule;
+    private final List<Pair<String, BodyRule>> routeRules;
+    private final List<String> streamingPaths;
+
+    public ConfigBodyHandler(JsonObject config, BodyHandler bodyHandler) {
+        this.handleFileUploads = JsonObjectHelper.getValue(CONFIG_HTTP_BODY_HANDLE_FILE_UPLOADS, config) == null
+            ? null
+            : JsonObjectHelper.getBoolean(CONFIG_HTTP_BODY_HANDLE_FILE_UPLOADS, config);
+        this.defaultRule = new BodyRule(
+            JsonObjectHelper.getValue(CONFIG_HTTP_BODY_ENABLED, config) == null
+                || JsonObjectHelper.getBoolean(CONFIG_HTTP_BODY_ENABLED, config),
+            methods(JsonObjectHelper.getJsonArray(CONFIG_HTTP_BODY_METHODS, config)),
+            contentTypes(JsonObjectHelper.getJsonArray(CONFIG_HTTP_BODY_CONTENT_TYPES, config)),
+            configure(bodyHandler != null ? bodyHandler : BodyHandler.create(),
+                JsonObjectHelper.getLong(CONFIG_HTTP_BODY_MAX_SIZE_BYTES, config)));
+
+        JsonArray routesConfig = JsonObjectHelper.getJsonArray(CONFIG_HTTP_BODY_ROUTES, config);
+        this.routeRules = routesConfig == null
+            ? List.of()
+            : routesConfig.stream()
+                .filter(JsonObject.class::isInstance)
+                .map(JsonObject.class::cast)
+                .map(this::routeRule)
+                .collect(Collectors.toList());
+
+        JsonArray streamingPathsConfig = JsonObjectHelper.getJsonArray(CONFIG_HTTP_BODY_STREAMING_PATHS, config);
+        this.streamingPaths = streamingPathsConfig == null
+            ? List.of()
+            : streamingPathsConfig.stream().map(Object::toString).collect(Collectors.toList());
+    }
+
+    public static ConfigBodyHandler create(JsonObject config, BodyHandler bodyHandler) {
+        return new ConfigBodyHandler(config, bodyHandler);
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        String path = ctx.normalizedPath();
+        BodyRule rule = rule(path);
+        if (!rule.enabled || (rule.methods != null && !rule.methods.contains(ctx.request().method()))) {
+            ctx.request().pause();
+            ctx.next();
+        } else if (streamingPaths.stream().anyMatch(streamingPath -> matches(streamingPath, path))) {
+            ctx.request().pause();
+            ctx.put(STREAMING_BODY_KEY, true);
+            ctx.next();
+        } else if (rule.contentTypes != null && !isBufferedContentType(rule.contentTypes, contentType(ctx))) {
+            ctx.request().pause();
+            ctx.next();
+        } else {
+            rule.bodyHandler.handle(ctx);
+        }
+    }
+
+    private Pair<String, BodyRule> routeRule(JsonObject route) {
+        String path = route.getString("path");
+        if (path == null) {
+            throw new IllegalConfigurationException(String.format("Missing 'path' of body route %s", route.encode()));
+        }
+        JsonArray methods = route.getJsonArray("methods");
+        JsonArray contentTypes = route.getJsonArray("contentTypes");
+        Long maxSizeBytes = route.getLong("maxSizeBytes");
+        return Pair.of(path, new BodyRule(
+            route.getBoolean("enabled", defaultRule.enabled),
+            methods == null ? defaultRule.methods : methods(methods),
+            contentTypes == null ? defaultRule.contentTypes : contentTypes(contentTypes),
+            maxSizeBytes == null ? defaultRule.bodyHandler : configure(BodyHandler.create(), maxSizeBytes)));
+    }
+
+    private BodyHandler configure(BodyHandler bodyHandler, Long maxSizeBytes) {
+        if (maxSizeBytes != null) {
+            bodyHandler.setBodyLimit(maxSizeBytes);
+        }
+        if (handleFileUploads != null) {
+            bodyHandler.setHandleFileUploads(handleFileUploads);
+        }
+        return bodyHandler;
+    }
+
+    private BodyRule rule(String path) {
+        for (Pair<String, BodyRule> routeRule : routeRules) {
+            if (matches(routeRule.getKey(), path)) {
+                return routeRule.getValue();
+            }
+        }
+        return defaultRule;
+    }
+
+    private static Set<HttpMethod> methods(JsonArray config) {
+        return config == null
+            ? null
+            : config.stream().map(m -> HttpMethod.valueOf(m.toString().toUpperCase(Locale.ROOT))).collect(Collectors.toSet());
+    }
+
+    private static Set<String> contentTypes(JsonArray config) {
+        return config == null
+            ? null
+            : config.stream().map(c -> c.toString().toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    private static boolean matches(String pattern, String path) {
+        if (pattern.endsWith("*")) {
+            String prefix = pattern.substring(0, pattern.length() - 1);
+            return path.startsWith(prefix) || (prefix.endsWith("/") && path.equals(prefix.substring(0, prefix.length() - 1)));
+        }
+        return path.equals(pattern);
+    }
+
+    private static boolean isBufferedContentType(Set<String> contentTypes, String contentType) {
+        // body without content type can not be told apart, it is buffered as by plain body handler
+        return contentType == null || contentTypes.contains(contentType);
+    }
+
+    private static String contentType(RoutingContext ctx) {
+        String contentType = ctx.request().getHeader(HttpHeaders.CONTENT_TYPE);
+        if (contentType == null) {
+            return null;
+        }
+        int parametersStart = contentType.indexOf(';');
+        return (parametersStart == -1 ? contentType : contentType.substring(0, parametersStart)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Body buffering settings of all requests or of requests on route path.
+     */
+    private static class BodyRule {
+        private final boolean enabled;
+        private final Set<HttpMethod> methods;
+        private final Set<String> contentTypes;
+        private final BodyHandler bodyHandler;
+
+        private BodyRule(boolean enabled, Set<HttpMethod> methods, Set<String> contentTypes, BodyHandler bodyHandler) {
+            this.enabled = enabled;
+            this.methods = methods;
+            this.contentTypes = contentTypes;
+            this.bodyHandler = bodyHandler;
+        }
+    }
+
+}
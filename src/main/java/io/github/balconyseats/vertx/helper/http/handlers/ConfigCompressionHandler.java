@@ -0,0 +1,106 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.http.ConfigHttpServerOptionsConfigurer;
+import io.github.balconyseats.vertx.helper.http.RouterHandler;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Route handler that limits response compression using configuration data:
+ *
+ * <pre>
+ *     http:
+ *       server:
+ *         compression:
+ *           enabled: true
+ *           level: 6
+ *           minSizeBytes: 1024
+ *           contentTypes: ['application/json', 'text/*']
+ * </pre>
+ *
+ * Compression itself is enabled on http server (see {@link ConfigHttpServerOptionsConfigurer}) and negotiated with
+ * 'Accept-Encoding' (gzip or deflate). This handler marks responses with 'Content-Encoding: identity' so they are sent
+ * uncompressed when 'Content-Length' is smaller than 'minSizeBytes' or content type is not in 'contentTypes'.
+ * Content type ending with '*' matches all types with that prefix. Responses which already have 'Content-Encoding',
+ * e.g. from {@link PrecompressedResponseCache}, are not changed.
+ * <p>
+ * The marker is removed by server compression before response is sent, so handler is installed only when
+ * 'compression.enabled' is true. Http server options configured by other configurer than
+ * {@link ConfigHttpServerOptionsConfigurer} must enable compression together with this flag.
+ * </p>
+ */
+public class ConfigCompressionHandler implements RouterHandler {
+
+    public static final String CONFIG_HTTP_SERVER_COMPRESSION_MIN_SIZE_BYTES = "/http/server/compression/minSizeBytes";
+    public static final String CONFIG_HTTP_SERVER_COMPRESSION_CONTENT_TYPES = "/http/server/compression/contentTypes";
+
+    private static final String IDENTITY = "identity";
+
+    @Override
+    public void apply(Vertx vertx, Router router, JsonObject config) {
+        if (!JsonObjectHelper.getBoolean(ConfigHttpServerOptionsConfigurer.CONFIG_HTTP_SERVER_COMPRESSION_ENABLED, config)) {
+            return;
+        }
+        long minSize = JsonObjectHelper.getLong(CONFIG_HTTP_SERVER_COMPRESSION_MIN_SIZE_BYTES, config, 0L);
+        JsonArray contentTypesConfig = JsonObjectHelper.getJsonArray(CONFIG_HTTP_SERVER_COMPRESSION_CONTENT_TYPES, config);
+        List<String> contentTypes = contentTypesConfig == null
+            ? null
+            : contentTypesConfig.stream().map(c -> c.toString().toLowerCase(Locale.ROOT)).collect(Collectors.toList());
+
+        if (minSize <= 0 && contentTypes == null) {
+            return;
+        }
+
+        router.route().handler(ctx -> {
+            ctx.addHeadersEndHandler(v -> skipCompression(ctx, minSize, contentTypes));
+            ctx.next();
+        });
+    }
+
+    private static void skipCompression(RoutingContext ctx, long minSize, List<String> contentTypes) {
+        MultiMap headers = ctx.response().headers();
+        if (headers.contains(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        if (isSmall(headers.get(HttpHeaders.CONTENT_LENGTH), minSize)
+            || (contentTypes != null && !isCompressible(headers.get(HttpHeaders.CONTENT_TYPE), contentTypes))) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, IDENTITY);
+        }
+    }
+
+    private static boolean isSmall(String contentLength, long minSize) {
+        if (contentLength == null || minSize <= 0) {
+            return false;
+        }
+        try {
+            return Long.parseLong(contentLength) < minSize;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isCompressible(String contentType, List<String> contentTypes) {
+        if (contentType == null) {
+            return false;
+        }
+        int parametersStart = contentType.indexOf(';');
+        String type = (parametersStart == -1 ? contentType : contentType.substring(0, parametersStart)).trim().toLowerCase(Locale.ROOT);
+        for (String allowed : contentTypes) {
+            if (allowed.endsWith("*") ? type.startsWith(allowed.substring(0, allowed.length() - 1)) : type.equals(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
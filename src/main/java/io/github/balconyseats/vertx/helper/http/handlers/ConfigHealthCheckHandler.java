@@ -27,10 +27,21 @@ public class ConfigHealthCheckHandler implements RouterHandler {
 
     @Override
     public void apply(Vertx vertx, Router route, JsonObject config) {
+        String path = healthPath(config);
+        if (path != null) {
+            DefaultHealthCheckHandler.forPath(path).apply(vertx, route, config);
+        }
+    }
+
+    /**
+     * @param config configuration
+     * @return path of health route or null when health route is not enabled
+     */
+    public static String healthPath(JsonObject config) {
         if (JsonObjectHelper.getBoolean(CONFIG_HTTP_HEALTH_ENABLED, config)) {
-            DefaultHealthCheckHandler.forPath(JsonObjectHelper.getString(CONFIG_HTTP_HEALTH_PATH, config, DEFAULT_HEALTH_PATH))
-                .apply(vertx, route, config);
+            return JsonObjectHelper.getString(CONFIG_HTTP_HEALTH_PATH, config, DEFAULT_HEALTH_PATH);
         }
+        return null;
     }
 
 }
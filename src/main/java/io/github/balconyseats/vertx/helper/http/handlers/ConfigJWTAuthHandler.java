@@ -0,0 +1,103 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.application.metrics.MetricsConfigHelper;
+import io.github.balconyseats.vertx.helper.auth.jwt.ConfigJWTAuthProvider;
+import io.github.balconyseats.vertx.helper.auth.jwt.JWTAuthMetrics;
+import io.github.balconyseats.vertx.helper.auth.jwt.MicrometerJWTAuthMetrics;
+import io.github.balconyseats.vertx.helper.http.RouterHandler;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.JWTAuthHandler;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Route handler that installs JWT authentication using configuration data:
+ *
+ * <pre>
+ *     http:
+ *       auth:
+ *         jwt:
+ *           enabled: true
+ *           paths:
+ *             - '/api/*'
+ *           token-cache:
+ *             enabled: true
+ *           clients:
+ *             - issuer: jwks-uri-client
+ *               jwks-uri:
+ *                 uri: 'http://localhost:8080/keys'
+ * </pre>
+ *
+ * 'token-cache' and 'clients' are described in {@link ConfigJWTAuthProvider}. If 'paths' is not defined then all
+ * routes are authenticated, except health route of {@link ConfigHealthCheckHandler} and prometheus route of
+ * {@link MetricsConfigHelper} when they are enabled, so probes and scrapers do not need tokens. Routes listed in
+ * 'paths' are always authenticated. When micrometer metrics are enabled (see {@link MetricsConfigHelper}), authentication
+ * is recorded with {@link MicrometerJWTAuthMetrics}. Verticle instances with the same configuration share one
+ * provider, see {@link ConfigJWTAuthProvider#shared(Vertx, JsonObject, JWTAuthMetrics)}.
+ */
+public class ConfigJWTAuthHandler implements RouterHandler {
+
+    public static final String CONFIG_HTTP_AUTH_JWT = "/http/auth/jwt";
+    public static final String CONFIG_HTTP_AUTH_JWT_ENABLED = "/http/auth/jwt/enabled";
+    public static final String CONFIG_HTTP_AUTH_JWT_PATHS = "/http/auth/jwt/paths";
+
+    public static final List<String> DEFAULT_JWT_PATHS = List.of("/*");
+
+    @Override
+    public void apply(Vertx vertx, Router router, JsonObject config) {
+        if (JsonObjectHelper.getBoolean(CONFIG_HTTP_AUTH_JWT_ENABLED, config)) {
+            ConfigJWTAuthProvider provider = ConfigJWTAuthProvider.shared(vertx,
+                JsonObjectHelper.getJsonObject(CONFIG_HTTP_AUTH_JWT, config), metrics(config));
+            JWTAuthHandler authHandler = JWTAuthHandler.create(provider);
+
+            JsonArray paths = JsonObjectHelper.getJsonArray(CONFIG_HTTP_AUTH_JWT_PATHS, config);
+            if (paths == null || paths.isEmpty()) {
+                Set<String> excludedPaths = excludedPaths(config);
+                Handler<RoutingContext> handler = excludedPaths.isEmpty()
+                    ? authHandler
+                    : ctx -> {
+                        if (excludedPaths.contains(ctx.normalizedPath())) {
+                            ctx.next();
+                        } else {
+                            authHandler.handle(ctx);
+                        }
+                    };
+                DEFAULT_JWT_PATHS.forEach(path -> router.route(path).handler(handler));
+            } else {
+                paths.forEach(path -> router.route(String.valueOf(path)).handler(authHandler));
+            }
+        }
+    }
+
+    /**
+     * @return paths of health and metrics routes registered by this library, which are not authenticated by default
+     */
+    private Set<String> excludedPaths(JsonObject config) {
+        return Stream.of(ConfigHealthCheckHandler.healthPath(config), MetricsConfigHelper.metricsPath(config))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    }
+
+    private JWTAuthMetrics metrics(JsonObject config) {
+        if (JsonObjectHelper.getBoolean(MetricsConfigHelper.CONFIG_METRICS_MICROMETER_ENABLED, config)) {
+            MeterRegistry registry = BackendRegistries.getDefaultNow();
+            if (registry != null) {
+                return MicrometerJWTAuthMetrics.instance(registry);
+            }
+        }
+        return JWTAuthMetrics.NOOP;
+    }
+
+}
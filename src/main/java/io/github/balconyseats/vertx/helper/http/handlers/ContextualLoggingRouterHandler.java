@@ -8,15 +8,30 @@ import io.vertx.ext.web.Router;
 
 /**
  * Route handler that adds 'spanId' and 'traceId' contextual logging data.
+ * <p>
+ * Tracing backend is resolved once when handler is applied, no route handler is added when tracing is disabled.
+ * </p>
  */
 public class ContextualLoggingRouterHandler implements RouterHandler {
 
     @Override
     public void apply(Vertx vertx, Router router, JsonObject config) {
-        router.route().handler(routingContext -> {
-            TracingConfigHelper.setContextualData(config);
-            routingContext.next();
-        });
+        switch (TracingConfigHelper.tracingBackend(config)) {
+            case ZIPKIN:
+                router.route().handler(routingContext -> {
+                    TracingConfigHelper.setZipkinContextualData();
+                    routingContext.next();
+                });
+                break;
+            case OPENTRACING:
+                router.route().handler(routingContext -> {
+                    TracingConfigHelper.setOpenTracingContextualData();
+                    routingContext.next();
+                });
+                break;
+            default:
+                break;
+        }
     }
 
 }
@@ -0,0 +1,163 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.http.ConfigHttpServerOptionsConfigurer;
+import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of gzip compressed variants of static or immutable responses, so they are compressed once instead of
+ * on every request. Configured with:
+ *
+ * <pre>
+ *     http:
+ *       server:
+ *         compression:
+ *           enabled: true
+ *           level: 6
+ *           precompressed:
+ *             maxEntries: 100
+ * </pre>
+ *
+ * Example:
+ * <pre>
+ *     PrecompressedResponseCache cache = PrecompressedResponseCache.create(config);
+ *     router.get("/app.js").handler(ctx -> cache.send(ctx, "app.js", "application/javascript", () -> appJs));
+ * </pre>
+ *
+ * Compressed variant is sent when request 'Accept-Encoding' contains gzip, otherwise body is sent uncompressed.
+ * Uncompressed body is marked with 'Content-Encoding: identity' only when server compression is enabled, so server
+ * does not compress it again, the marker is removed by server before response is sent.
+ * When cache is full, least recently used entry is evicted.
+ */
+public class PrecompressedResponseCache {
+
+    public static final String CONFIG_HTTP_SERVER_COMPRESSION_PRECOMPRESSED_MAX_ENTRIES = "/http/server/compression/precompressed/maxEntries";
+
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+
+    private static final String GZIP = "gzip";
+    private static final String IDENTITY = "identity";
+
+    private final int level;
+    private final boolean serverCompression;
+    private final Map<String, Variants> entries;
+
+    public PrecompressedResponseCache(int level, int maxEntries) {
+        this(level, maxEntries, true);
+    }
+
+    public PrecompressedResponseCache(int level, int maxEntries, boolean serverCompression) {
+        this.level = level;
+        this.serverCompression = serverCompression;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Variants> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static PrecompressedResponseCache create(JsonObject config) {
+        return new PrecompressedResponseCache(
+            JsonObjectHelper.getInteger(ConfigHttpServerOptionsConfigurer.CONFIG_HTTP_SERVER_COMPRESSION_LEVEL, config,
+                HttpServerOptions.DEFAULT_COMPRESSION_LEVEL),
+            JsonObjectHelper.getInteger(CONFIG_HTTP_SERVER_COMPRESSION_PRECOMPRESSED_MAX_ENTRIES, config, DEFAULT_MAX_ENTRIES),
+            JsonObjectHelper.getBoolean(ConfigHttpServerOptionsConfigurer.CONFIG_HTTP_SERVER_COMPRESSION_ENABLED, config));
+    }
+
+    /**
+     * Sends cached response body, body is created and compressed on first request for the key.
+     *
+     * @param ctx         routing context
+     * @param key         cache key
+     * @param contentType response content type
+     * @param body        supplier of uncompressed body
+     * @return future completed when response is sent
+     */
+    public Future<Void> send(RoutingContext ctx, String key, String contentType, Supplier<Buffer> body) {
+        Variants variants = variants(key, body);
+        boolean gzip = acceptsGzip(ctx.request().getHeader(HttpHeaders.ACCEPT_ENCODING));
+        HttpServerResponse response = ctx.response()
+            .putHeader(HttpHeaders.CONTENT_TYPE, contentType)
+            .putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        } else if (serverCompression) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, IDENTITY);
+        }
+        return response.end(gzip ? variants.gzip : variants.identity);
+    }
+
+    private Variants variants(String key, Supplier<Buffer> body) {
+        synchronized (entries) {
+            Variants variants = entries.get(key);
+            if (variants != null) {
+                return variants;
+            }
+        }
+        Buffer identity = body.get();
+        Variants variants = new Variants(identity, gzip(identity));
+        synchronized (entries) {
+            entries.put(key, variants);
+        }
+        return variants;
+    }
+
+    private Buffer gzip(Buffer buffer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, buffer.length() / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(buffer.getBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Buffer.buffer(out.toByteArray());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim()) || "*".equals(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class Variants {
+        private final Buffer identity;
+        private final Buffer gzip;
+
+        private Variants(Buffer identity, Buffer gzip) {
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+    }
+
+}
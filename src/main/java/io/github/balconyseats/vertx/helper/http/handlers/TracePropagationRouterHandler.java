@@ -0,0 +1,27 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.application.tracing.TracePropagation;
+import io.github.balconyseats.vertx.helper.http.RouterHandler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+
+/**
+ * Route handler that sets 'traceId' and 'spanId' contextual logging data from W3C trace context or B3 request
+ * headers, see {@link TracePropagation}. No route handler is added when propagation is disabled.
+ */
+public class TracePropagationRouterHandler implements RouterHandler {
+
+    @Override
+    public void apply(Vertx vertx, Router router, JsonObject config) {
+        TracePropagation propagation = TracePropagation.create(config);
+        if (propagation == null) {
+            return;
+        }
+        router.route().handler(routingContext -> {
+            propagation.extract(routingContext.request()::getHeader);
+            routingContext.next();
+        });
+    }
+
+}
@@ -1,13 +1,20 @@
 package io.github.balconyseats.vertx.helper.kafka;
 
+import io.github.balconyseats.vertx.helper.application.tracing.TracePropagation;
 import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
 import io.github.balconyseats.vertx.helper.util.JsonObjectHelper;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.kafka.client.consumer.KafkaConsumer;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
 import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -50,6 +57,9 @@ import java.util.stream.Collectors;
  *     ssl.truststore.password: 'password'
  *     ssl.truststore.type: 'JKS'
  * </pre>
+ *
+ * Trace context is propagated with {@link #withTraceContext(KafkaProducerRecord, TracePropagation)} on produced
+ * records and {@link #tracingHandler(Handler, TracePropagation)} on consumed records.
  */
 public class KafkaHelper {
 
@@ -160,6 +170,58 @@ public class KafkaHelper {
             .orElseThrow(() -> new IllegalConfigurationException(String.format("Kafka configuration for topic '%s' does not exist.", topicPath)));
     }
 
+    /**
+     * Adds trace context headers of current context to producer record, see {@link TracePropagation}.
+     * @param record producer record
+     * @param propagation trace propagation, record is not changed when null
+     * @param <K> key type
+     * @param <V> value type
+     * @return the same producer record
+     */
+    public static <K, V> KafkaProducerRecord<K, V> withTraceContext(KafkaProducerRecord<K, V> record, TracePropagation propagation) {
+        if (propagation != null) {
+            propagation.inject(record::addHeader);
+        }
+        return record;
+    }
+
+    /**
+     * Wraps consumer record handler, so each record is handled on its own duplicated context with contextual data
+     * extracted from record trace context headers, see {@link TracePropagation}.
+     * @param handler record handler
+     * @param propagation trace propagation, handler is returned as it is when null
+     * @param <K> key type
+     * @param <V> value type
+     * @return record handler
+     */
+    public static <K, V> Handler<KafkaConsumerRecord<K, V>> tracingHandler(Handler<KafkaConsumerRecord<K, V>> handler, TracePropagation propagation) {
+        if (propagation == null) {
+            return handler;
+        }
+        return record -> {
+            ContextInternal context = (ContextInternal) Vertx.currentContext();
+            if (context == null) {
+                handler.handle(record);
+                return;
+            }
+            context.duplicate().dispatch(record, r -> {
+                List<KafkaHeader> headers = r.headers();
+                propagation.extract(name -> header(headers, name));
+                handler.handle(r);
+            });
+        };
+    }
+
+    private static String header(List<KafkaHeader> headers, String name) {
+        for (int i = headers.size() - 1; i >= 0; i--) {
+            KafkaHeader header = headers.get(i);
+            if (name.equals(header.key())) {
+                return header.value() == null ? null : header.value().toString();
+            }
+        }
+        return null;
+    }
+
     private static Map<String, String> consumerConfig(String consumerName, JsonObject kafkaConfig) {
         return extractConfig("consumers", consumerName, kafkaConfig);
     }
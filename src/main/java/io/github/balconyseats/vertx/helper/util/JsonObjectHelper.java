@@ -4,8 +4,22 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.pointer.JsonPointer;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads values from {@link JsonObject} using json pointer paths, e.g. '/http/server/port'.
+ * <p>
+ * Parsed pointers are cached by path, so repeated lookups with the same path do not parse it again. At most
+ * {@value #MAX_CACHED_POINTERS} paths are cached, paths looked up after the cache is full are parsed on each lookup.
+ * </p>
+ */
 public class JsonObjectHelper {
 
+    static final int MAX_CACHED_POINTERS = 1024;
+
+    private static final Map<String, JsonPointer> POINTERS = new ConcurrentHashMap<>();
+
     public static Boolean getBoolean(String path, JsonObject jsonObject) {
         return (Boolean) getObject(path, jsonObject, Boolean.FALSE);
     }
@@ -33,6 +47,36 @@ public class JsonObjectHelper {
         }
     }
 
+    public static Long getLong(String path, JsonObject config) {
+        return getLong(path, config, null);
+    }
+
+    public static Long getLong(String path, JsonObject jsonObject, Long defaultValue) {
+        Number number = (Number) getObject(path, jsonObject, defaultValue);
+        if (number == null) {
+            return null;
+        } else if (number instanceof Long) {
+            return (Long) number;
+        } else {
+            return number.longValue();
+        }
+    }
+
+    public static Double getDouble(String path, JsonObject config) {
+        return getDouble(path, config, null);
+    }
+
+    public static Double getDouble(String path, JsonObject jsonObject, Double defaultValue) {
+        Number number = (Number) getObject(path, jsonObject, defaultValue);
+        if (number == null) {
+            return null;
+        } else if (number instanceof Double) {
+            return (Double) number;
+        } else {
+            return number.doubleValue();
+        }
+    }
+
     public static JsonObject getJsonObject(String path, JsonObject jsonObject) {
         return (JsonObject) getObject(path, jsonObject, null);
     }
@@ -41,8 +85,24 @@ public class JsonObjectHelper {
         return (JsonArray) getObject(path, jsonObject, null);
     }
 
+    public static Object getValue(String path, JsonObject jsonObject) {
+        return getObject(path, jsonObject, null);
+    }
+
     private static Object getObject(String path, JsonObject jsonObject, Object defaultValue) {
-        return JsonPointer.from(path).queryJsonOrDefault(jsonObject, defaultValue);
+        return pointer(path).queryJsonOrDefault(jsonObject, defaultValue);
+    }
+
+    static JsonPointer pointer(String path) {
+        JsonPointer pointer = POINTERS.get(path);
+        if (pointer == null) {
+            // paths may be built by callers, e.g. from names, so cache does not grow without limit
+            if (POINTERS.size() >= MAX_CACHED_POINTERS) {
+                return JsonPointer.from(path);
+            }
+            pointer = POINTERS.computeIfAbsent(path, JsonPointer::from);
+        }
+        return pointer;
     }
 
 }
@@ -14,8 +14,11 @@ import io.github.balconyseats.vertx.helper.application.tracing.EventBusContextua
 import io.github.balconyseats.vertx.helper.application.tracing.TracingConfigHelper;
 import io.github.balconyseats.vertx.helper.config.ConfigurationLoader;
 import io.reactiverse.contextual.logging.ContextualData;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.core.AbstractVerticle;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.junit5.VertxExtension;
@@ -28,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @ExtendWith(VertxExtension.class)
 class VertxApplicationTest {
@@ -64,6 +68,79 @@ class VertxApplicationTest {
         })));
     }
 
+    @Test
+    public void testCreate_whenInstancesConfigured_expectVerticlePerInstance(VertxTestContext testContext) {
+
+        AtomicInteger created = new AtomicInteger();
+        VerticleConfigurer verticleConfigurer = VerticleConfigurer.instances((vertx, ctx, config) -> {
+            created.incrementAndGet();
+            return new AbstractVerticle() {
+            };
+        }, "/verticle/instances");
+
+        VertxApplication vertxApplication = VertxApplication.builder()
+            .configurationLoader(ConfigurationLoader.builder()
+                .addStore(new ConfigStoreOptions().setType("json")
+                    .setConfig(new JsonObject().put("verticle", new JsonObject().put("instances", 3))))
+                .build())
+            .verticleConfigurers(verticleConfigurer)
+            .build();
+
+        vertxApplication.create()
+            .onComplete(testContext.succeeding(vertxContext -> testContext.verify(() -> {
+                Assertions.assertThat(vertxContext.getVertx().deploymentIDs()).hasSize(1);
+                Assertions.assertThat(created.get()).isEqualTo(3);
+                vertxApplication.close().onComplete(testContext.succeedingThenComplete());
+            })));
+    }
+
+    @Test
+    public void testCreate_whenAutoInstancesConfigured_expectVerticlePerEventLoop(VertxTestContext testContext) {
+
+        AtomicInteger created = new AtomicInteger();
+        VerticleConfigurer verticleConfigurer = VerticleConfigurer.instances((vertx, ctx, config) -> {
+            created.incrementAndGet();
+            return new AbstractVerticle() {
+            };
+        }, "/verticle/instances");
+
+        VertxApplication vertxApplication = VertxApplication.builder()
+            .configurationLoader(ConfigurationLoader.builder()
+                .addStore(new ConfigStoreOptions().setType("json")
+                    .setConfig(new JsonObject().put("verticle", new JsonObject().put("instances", "auto"))))
+                .build())
+            .vertxOptionsConfigurer((vertxOptions, config) -> vertxOptions.setEventLoopPoolSize(4))
+            .verticleConfigurers(verticleConfigurer)
+            .build();
+
+        vertxApplication.create()
+            .onComplete(testContext.succeeding(vertxContext -> testContext.verify(() -> {
+                Assertions.assertThat(created.get()).isEqualTo(4);
+                vertxApplication.close().onComplete(testContext.succeedingThenComplete());
+            })));
+    }
+
+    @Test
+    public void testCreate_whenInvalidInstancesConfigured_expectFailure(VertxTestContext testContext) {
+
+        VerticleConfigurer verticleConfigurer = VerticleConfigurer.instances((vertx, ctx, config) -> new AbstractVerticle() {
+        }, "/verticle/instances");
+
+        VertxApplication vertxApplication = VertxApplication.builder()
+            .configurationLoader(ConfigurationLoader.builder()
+                .addStore(new ConfigStoreOptions().setType("json")
+                    .setConfig(new JsonObject().put("verticle", new JsonObject().put("instances", "many"))))
+                .build())
+            .verticleConfigurers(verticleConfigurer)
+            .build();
+
+        vertxApplication.create()
+            .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                Assertions.assertThat(t).hasMessage("Some verticles were not started successfully");
+                vertxApplication.close().onComplete(testContext.succeedingThenComplete());
+            })));
+    }
+
     @Test
     public void testCreate_shouldConfigureAll(VertxTestContext testContext) {
 
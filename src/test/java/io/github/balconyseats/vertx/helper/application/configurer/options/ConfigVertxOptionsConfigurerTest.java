@@ -0,0 +1,58 @@
+package io.github.balconyseats.vertx.helper.application.configurer.options;
+
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class ConfigVertxOptionsConfigurerTest {
+
+    @Test
+    public void testConfigure_whenVertxConfigIsProvided_expectOptionsConfigured() {
+        JsonObject config = new JsonObject()
+            .put("vertx", new JsonObject()
+                .put("eventLoopPoolSize", 16)
+                .put("workerPoolSize", 30)
+                .put("internalBlockingPoolSize", 10)
+                .put("maxEventLoopExecuteTimeMillis", 100)
+                .put("maxWorkerExecuteTimeMillis", 5000)
+                .put("blockedThreadCheckIntervalMillis", 500)
+                .put("preferNativeTransport", true)
+            );
+
+        VertxOptions options = new ConfigVertxOptionsConfigurer().configure(new VertxOptions(), config);
+
+        Assertions.assertThat(options.getEventLoopPoolSize()).isEqualTo(16);
+        Assertions.assertThat(options.getWorkerPoolSize()).isEqualTo(30);
+        Assertions.assertThat(options.getInternalBlockingPoolSize()).isEqualTo(10);
+        Assertions.assertThat(options.getMaxEventLoopExecuteTime()).isEqualTo(100);
+        Assertions.assertThat(options.getMaxEventLoopExecuteTimeUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+        Assertions.assertThat(options.getMaxWorkerExecuteTime()).isEqualTo(5000);
+        Assertions.assertThat(options.getMaxWorkerExecuteTimeUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+        Assertions.assertThat(options.getBlockedThreadCheckInterval()).isEqualTo(500);
+        Assertions.assertThat(options.getBlockedThreadCheckIntervalUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+        Assertions.assertThat(options.getPreferNativeTransport()).isTrue();
+    }
+
+    @Test
+    public void testConfigure_whenVertxConfigIsMissing_expectDefaults() {
+        VertxOptions defaults = new VertxOptions();
+
+        VertxOptions options = new ConfigVertxOptionsConfigurer().configure(new VertxOptions(), new JsonObject());
+
+        Assertions.assertThat(options.toJson()).isEqualTo(defaults.toJson());
+    }
+
+    @Test
+    public void testConfigure_whenPoolSizeIsInvalid_expectIllegalConfigurationException() {
+        JsonObject config = new JsonObject().put("vertx", new JsonObject().put("eventLoopPoolSize", 0));
+
+        Assertions.assertThatThrownBy(() -> new ConfigVertxOptionsConfigurer().configure(new VertxOptions(), config))
+            .isInstanceOf(IllegalConfigurationException.class)
+            .hasMessage("Invalid value '0' at '/vertx/eventLoopPoolSize', expected at least 1.");
+    }
+
+}
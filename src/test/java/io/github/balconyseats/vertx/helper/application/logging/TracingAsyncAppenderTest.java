@@ -0,0 +1,141 @@
+package io.github.balconyseats.vertx.helper.application.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.status.Status;
+import io.github.balconyseats.vertx.helper.application.tracing.TracingConfigHelper;
+import io.reactiverse.contextual.logging.ContextualData;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@ExtendWith(VertxExtension.class)
+class TracingAsyncAppenderTest {
+
+    @Test
+    public void test_append_whenLoggedOnVertxContext_expectTraceContextInMdc(Vertx vertx, VertxTestContext testContext) {
+        CollectingAppender delegate = new CollectingAppender(new CountDownLatch(0));
+        TracingAsyncAppender appender = appender(delegate, 8);
+        Logger logger = logger(appender);
+
+        ((ContextInternal) vertx.getOrCreateContext()).duplicate().runOnContext(v -> {
+            ContextualData.put(TracingConfigHelper.TRACE_ID_KEY, "463ac35c9f6413ad");
+            ContextualData.put(TracingConfigHelper.SPAN_ID_KEY, "a2fb4a1d1a96d312");
+            logger.info("traced");
+            appender.stop();
+            testContext.verify(() -> {
+                Assertions.assertThat(delegate.events).hasSize(1);
+                Assertions.assertThat(delegate.events.get(0).getMDCPropertyMap())
+                    .containsEntry(TracingConfigHelper.TRACE_ID_KEY, "463ac35c9f6413ad")
+                    .containsEntry(TracingConfigHelper.SPAN_ID_KEY, "a2fb4a1d1a96d312");
+                testContext.completeNow();
+            });
+        });
+    }
+
+    @Test
+    public void test_append_whenMdcWasReadByPreviousAppender_expectWarnedOnce(Vertx vertx, VertxTestContext testContext) {
+        CollectingAppender delegate = new CollectingAppender(new CountDownLatch(0));
+        TracingAsyncAppender appender = appender(delegate, 8);
+        LoggerContext context = (LoggerContext) appender.getContext();
+        Logger logger = context.getLogger("test");
+        logger.setAdditive(false);
+        AppenderBase<ILoggingEvent> mdcReader = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                event.getMDCPropertyMap();
+            }
+        };
+        mdcReader.setContext(context);
+        mdcReader.start();
+        logger.addAppender(mdcReader);
+        logger.addAppender(appender);
+
+        ((ContextInternal) vertx.getOrCreateContext()).duplicate().runOnContext(v -> {
+            ContextualData.put(TracingConfigHelper.TRACE_ID_KEY, "463ac35c9f6413ad");
+            logger.info("first");
+            logger.info("second");
+            appender.stop();
+            testContext.verify(() -> {
+                Assertions.assertThat(delegate.events).hasSize(2);
+                Assertions.assertThat(context.getStatusManager().getCopyOfStatusList())
+                    .filteredOn(status -> status.getLevel() == Status.WARN)
+                    .hasSize(1);
+                testContext.completeNow();
+            });
+        });
+    }
+
+    @Test
+    public void test_append_whenRingBufferIsFull_expectInfoDroppedAndWarnKept() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CollectingAppender delegate = new CollectingAppender(release);
+        TracingAsyncAppender appender = appender(delegate, 4);
+        Logger logger = logger(appender);
+
+        for (int i = 1; i <= 4; i++) {
+            logger.info("info {}", i);
+        }
+        logger.info("dropped");
+        Thread warn = new Thread(() -> logger.warn("warn"));
+        warn.start();
+        release.countDown();
+        warn.join(TimeUnit.SECONDS.toMillis(5));
+        appender.stop();
+
+        Assertions.assertThat(appender.getDroppedCount()).isEqualTo(1L);
+        Assertions.assertThat(delegate.events.stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList()))
+            .containsExactly("info 1", "info 2", "info 3", "info 4", "warn");
+    }
+
+    private TracingAsyncAppender appender(CollectingAppender delegate, int ringBufferSize) {
+        LoggerContext context = new LoggerContext();
+        delegate.setContext(context);
+        delegate.start();
+        TracingAsyncAppender appender = new TracingAsyncAppender();
+        appender.setContext(context);
+        appender.setRingBufferSize(ringBufferSize);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+
+    private Logger logger(TracingAsyncAppender appender) {
+        Logger logger = ((LoggerContext) appender.getContext()).getLogger("test");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static class CollectingAppender extends AppenderBase<ILoggingEvent> {
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        private CollectingAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+
+}
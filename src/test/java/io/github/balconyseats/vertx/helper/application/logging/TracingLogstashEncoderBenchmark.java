@@ -0,0 +1,152 @@
+package io.github.balconyseats.vertx.helper.application.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.github.balconyseats.vertx.helper.application.tracing.TracingConfigHelper;
+import io.reactiverse.contextual.logging.ContextualData;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import net.logstash.logback.LogstashFormatter;
+import net.logstash.logback.composite.AbstractCompositeJsonFormatter;
+import net.logstash.logback.composite.AbstractJsonProvider;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares log events per second encoded by {@link TracingLogstashEncoder} to previous implementation of
+ * {@link TracingJsonProvider} which looked up contextual data once per trace key. Events are encoded in batches on
+ * Vert.x context with trace ids in contextual data, as they are when logged from a traced request.
+ * <p>
+ * Run with:
+ * <pre>
+ *     mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ *     java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *       org.openjdk.jmh.Main TracingLogstashEncoderBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TracingLogstashEncoderBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private Vertx vertx;
+    private ContextInternal context;
+    private LogstashEncoder previousEncoder;
+    private LogstashEncoder encoder;
+    private LoggingEvent event;
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx();
+        context = ((ContextInternal) vertx.getOrCreateContext()).duplicate();
+        runOnContext(() -> {
+            ContextualData.put(TracingConfigHelper.TRACE_ID_KEY, "463ac35c9f6413ad48485a3953bb6124");
+            ContextualData.put(TracingConfigHelper.SPAN_ID_KEY, "a2fb4a1d1a96d312");
+            ContextualData.put(TracingConfigHelper.PARENT_ID_KEY, "0020000000000001");
+        });
+
+        LoggerContext loggerContext = new LoggerContext();
+        previousEncoder = new PreviousTracingLogstashEncoder();
+        previousEncoder.setContext(loggerContext);
+        previousEncoder.start();
+        encoder = new TracingLogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+
+        Logger logger = loggerContext.getLogger(TracingLogstashEncoderBenchmark.class);
+        event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+            "Request {} handled", null, new Object[]{"GET /api/v1/test"});
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.stop();
+        previousEncoder.stop();
+        vertx.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void previousEncoder() {
+        encodeBatch(previousEncoder);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void encoder() {
+        encodeBatch(encoder);
+    }
+
+    private void encodeBatch(LogstashEncoder logstashEncoder) {
+        runOnContext(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                try {
+                    logstashEncoder.encode(event, OutputStream.nullOutputStream());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    private void runOnContext(Runnable runnable) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        context.runOnContext(v -> {
+            try {
+                runnable.run();
+                future.complete(null);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.join();
+    }
+
+    private static class PreviousTracingLogstashEncoder extends LogstashEncoder {
+        @Override
+        protected AbstractCompositeJsonFormatter<ILoggingEvent> createFormatter() {
+            LogstashFormatter logstashFormatter = new LogstashFormatter(this);
+            logstashFormatter.addProvider(new PreviousTracingJsonProvider());
+            return logstashFormatter;
+        }
+    }
+
+    private static class PreviousTracingJsonProvider extends AbstractJsonProvider<ILoggingEvent> {
+        @Override
+        public void writeTo(JsonGenerator jsonGenerator, ILoggingEvent iLoggingEvent) throws IOException {
+            for (String traceKey : TracingConfigHelper.TRACE_KEYS) {
+                String val = ContextualData.get(traceKey);
+                if (val != null) {
+                    jsonGenerator.writeStringField(traceKey, val);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import brave.handler.MutableSpan;
+import brave.propagation.TraceContext;
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.vertx.core.json.JsonObject;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import zipkin2.Span;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ConfigZipkinTracingOptionsTest {
+
+    @Test
+    public void testCreate_whenSamplingIsNotConfigured_expectAlwaysSample() {
+        ConfigZipkinTracingOptions options = ConfigZipkinTracingOptions.create(config(new JsonObject()));
+
+        Assertions.assertThat(options.sampler()).isSameAs(Sampler.ALWAYS_SAMPLE);
+        Assertions.assertThat(options.copy().sampler()).isSameAs(Sampler.ALWAYS_SAMPLE);
+    }
+
+    @Test
+    public void testCreate_whenRateLimitIsConfigured_expectRateLimitingSampler() {
+        ConfigZipkinTracingOptions options = ConfigZipkinTracingOptions.create(config(new JsonObject().put("rateLimit", 10)));
+
+        Assertions.assertThat(options.sampler()).isInstanceOf(RateLimitingSampler.class);
+    }
+
+    @Test
+    public void testCreate_whenSamplingIsInvalid_expectException() {
+        Assertions.assertThatThrownBy(() -> ConfigZipkinTracingOptions.create(config(new JsonObject().put("probability", 1.5))))
+            .isInstanceOf(IllegalConfigurationException.class);
+        Assertions.assertThatThrownBy(() -> ConfigZipkinTracingOptions.create(config(new JsonObject().put("probability", 0.1).put("rateLimit", 10))))
+            .isInstanceOf(IllegalConfigurationException.class);
+        Assertions.assertThatThrownBy(() -> ConfigZipkinTracingOptions.create(config(new JsonObject().put("rateLimit", 0))))
+            .isInstanceOf(IllegalConfigurationException.class);
+    }
+
+    @Test
+    public void testTailSampling_whenSpanIsNotSampled_expectOnlyFailedAndSlowSpansReported() {
+        List<Span> reported = new ArrayList<>();
+        TailSamplingSpanHandler handler = new TailSamplingSpanHandler(reported::add, "service", 500_000L);
+        TraceContext notSampled = TraceContext.newBuilder().traceId(1L).spanId(2L).sampled(false).build();
+
+        handler.handle(notSampled, span(100_000L, null));
+        handler.handle(notSampled, span(600_000L, null));
+        handler.handle(notSampled, span(100_000L, new IllegalStateException("failed")));
+        handler.handle(TraceContext.newBuilder().traceId(1L).spanId(3L).sampled(true).build(), span(600_000L, null));
+
+        Assertions.assertThat(reported).hasSize(2);
+        Assertions.assertThat(reported.get(0).duration()).isEqualTo(600_000L);
+        Assertions.assertThat(reported.get(0).localServiceName()).isEqualTo("service");
+        Assertions.assertThat(reported.get(1).tags()).containsEntry("error", "failed");
+    }
+
+    private MutableSpan span(long durationMicros, Throwable error) {
+        MutableSpan span = new MutableSpan();
+        span.name("get");
+        span.startTimestamp(1_000_000L);
+        span.finishTimestamp(1_000_000L + durationMicros);
+        if (error != null) {
+            span.error(error);
+        }
+        return span;
+    }
+
+    private JsonObject config(JsonObject sampling) {
+        return new JsonObject()
+            .put("tracing", new JsonObject()
+                .put("zipkin", new JsonObject()
+                    .put("enabled", true)
+                    .put("serviceName", "service")
+                    .put("endpoint", "http://localhost:9411/api/v2/spans")
+                    .put("sampling", sampling)));
+    }
+
+}
@@ -0,0 +1,102 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import zipkin2.Call;
+import zipkin2.Span;
+import zipkin2.codec.Encoding;
+import zipkin2.reporter.AsyncReporter;
+import zipkin2.reporter.Sender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class MicrometerReporterMetricsTest {
+
+    @Test
+    public void testReport_whenQueueIsFull_expectSpansDroppedAndCounted() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerReporterMetrics metrics = new MicrometerReporterMetrics(() -> registry);
+        InMemorySender sender = new InMemorySender();
+
+        AsyncReporter<Span> reporter = AsyncReporter.builder(new MeteredSender(sender, metrics))
+            .metrics(metrics)
+            .queuedMaxSpans(2)
+            .messageTimeout(0, TimeUnit.MILLISECONDS)
+            .build();
+        for (int i = 1; i <= 3; i++) {
+            reporter.report(Span.newBuilder().traceId("1").id(i).name("span").build());
+        }
+        reporter.flush();
+
+        Assertions.assertThat(sender.spans).hasSize(2);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.SPANS_COUNTER, "reported")).isEqualTo(3.0);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.SPANS_COUNTER, "sent")).isEqualTo(2.0);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.SPANS_COUNTER, "dropped")).isEqualTo(1.0);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.MESSAGES_COUNTER, "sent")).isEqualTo(1.0);
+        Assertions.assertThat(registry.get(MicrometerReporterMetrics.QUEUE_SPANS_GAUGE).gauge().value()).isZero();
+    }
+
+    @Test
+    public void testReport_whenRegistryIsNotAvailable_expectNoFailure() {
+        MicrometerReporterMetrics metrics = new MicrometerReporterMetrics(() -> null);
+
+        metrics.incrementSpans(1);
+        metrics.incrementSpansDropped(1);
+        metrics.incrementSpansSent(1);
+    }
+
+    @Test
+    public void testReport_whenRegistryBecomesAvailable_expectEarlierCountsAdded() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AtomicReference<MeterRegistry> available = new AtomicReference<>();
+        MicrometerReporterMetrics metrics = new MicrometerReporterMetrics(available::get);
+
+        metrics.incrementSpans(3);
+        metrics.incrementSpansSent(2);
+        metrics.incrementSpansDropped(1);
+        metrics.incrementMessagesDropped(new IllegalStateException());
+        available.set(registry);
+        metrics.incrementMessages();
+
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.SPANS_COUNTER, "reported")).isEqualTo(3.0);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.SPANS_COUNTER, "sent")).isEqualTo(2.0);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.SPANS_COUNTER, "dropped")).isEqualTo(1.0);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.MESSAGES_COUNTER, "sent")).isEqualTo(1.0);
+        Assertions.assertThat(count(registry, MicrometerReporterMetrics.MESSAGES_COUNTER, "dropped")).isEqualTo(1.0);
+    }
+
+    private double count(MeterRegistry registry, String name, String result) {
+        return registry.get(name).tag("result", result).counter().count();
+    }
+
+    private static class InMemorySender extends Sender {
+        private final List<byte[]> spans = new ArrayList<>();
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.JSON;
+        }
+
+        @Override
+        public int messageMaxBytes() {
+            return 1024 * 1024;
+        }
+
+        @Override
+        public int messageSizeInBytes(List<byte[]> encodedSpans) {
+            return Encoding.JSON.listSizeInBytes(encodedSpans);
+        }
+
+        @Override
+        public Call<Void> sendSpans(List<byte[]> encodedSpans) {
+            spans.addAll(encodedSpans);
+            return Call.create(null);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TraceParentTest {
+
+    @Test
+    public void testFormat_whenIdsAreShort_expectPaddedIds() {
+        String got = TraceParent.format("463ac35c9f6413ad", "a2fb4a1d1a96d312", true);
+
+        Assertions.assertThat(got).isEqualTo("00-0000000000000000463ac35c9f6413ad-a2fb4a1d1a96d312-01");
+    }
+
+    @Test
+    public void testFormat_whenIdIsNotHex_expectNull() {
+        Assertions.assertThat(TraceParent.format("not-hex", "a2fb4a1d1a96d312", true)).isNull();
+        Assertions.assertThat(TraceParent.format("463ac35c9f6413ad", null, true)).isNull();
+    }
+
+    @Test
+    public void testParse_whenValueIsValid_expectIds() {
+        TraceParent got = TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        Assertions.assertThat(got).isNotNull();
+        Assertions.assertThat(got.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        Assertions.assertThat(got.spanId()).isEqualTo("00f067aa0ba902b7");
+        Assertions.assertThat(got.sampled()).isTrue();
+    }
+
+    @Test
+    public void testParse_whenTraceIdIs64Bit_expectShortTraceId() {
+        TraceParent got = TraceParent.parse(TraceParent.format("463ac35c9f6413ad", "a2fb4a1d1a96d312", false));
+
+        Assertions.assertThat(got).isNotNull();
+        Assertions.assertThat(got.traceId()).isEqualTo("463ac35c9f6413ad");
+        Assertions.assertThat(got.sampled()).isFalse();
+    }
+
+    @Test
+    public void testParse_whenValueIsInvalid_expectNull() {
+        Assertions.assertThat(TraceParent.parse(null)).isNull();
+        Assertions.assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-01")).isNull();
+        Assertions.assertThat(TraceParent.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+        Assertions.assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-0x")).isNull();
+    }
+
+    @Test
+    public void testParse_whenIdIsAllZeros_expectNull() {
+        Assertions.assertThat(TraceParent.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        Assertions.assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01")).isNull();
+    }
+
+    @Test
+    public void testParse_whenVersion00ValueIsLonger_expectNull() {
+        Assertions.assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra")).isNull();
+        Assertions.assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-010")).isNull();
+    }
+
+    @Test
+    public void testFormat_whenIdIsAllZeros_expectNull() {
+        Assertions.assertThat(TraceParent.format("0000000000000000", "a2fb4a1d1a96d312", true)).isNull();
+        Assertions.assertThat(TraceParent.format("463ac35c9f6413ad", "0", true)).isNull();
+    }
+
+}
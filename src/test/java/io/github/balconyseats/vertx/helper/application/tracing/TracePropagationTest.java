@@ -0,0 +1,208 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.http.handlers.TracePropagationRouterHandler;
+import io.github.balconyseats.vertx.helper.kafka.KafkaHelper;
+import io.github.balconyseats.vertx.helper.test.util.RandomPort;
+import io.reactiverse.contextual.logging.ContextualData;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(VertxExtension.class)
+class TracePropagationTest {
+
+    private static final String TRACE_PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    public void test_propagate_whenW3CHeadersAreReceived_expectHeadersSentByWebClient(Vertx vertx, VertxTestContext testContext) {
+        JsonObject config = config("w3c");
+        TracePropagation propagation = TracePropagation.create(config);
+        WebClient webClient = propagation.propagate(WebClient.create(vertx));
+
+        createHttpServer(vertx, config, ctx -> ctx.end(ctx.request().getHeader("traceparent") + " " + ctx.request().getHeader("tracestate")))
+            .flatMap(downstream -> createHttpServer(vertx, config, ctx -> webClient
+                .get(downstream.actualPort(), "localhost", "/")
+                .send()
+                .onSuccess(response -> ctx.end(response.bodyAsString()))
+                .onFailure(ctx::fail)))
+            .flatMap(server -> WebClient.create(vertx)
+                .get(server.actualPort(), "localhost", "/")
+                .putHeader("traceparent", TRACE_PARENT)
+                .putHeader("tracestate", "foo=bar")
+                .send())
+            .map(HttpResponse::bodyAsString)
+            .onComplete(testContext.succeeding(body -> testContext.verify(() -> {
+                Assertions.assertThat(body).isEqualTo(TRACE_PARENT + " foo=bar");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_extract_whenB3HeaderIsReceived_expectContextualData(Vertx vertx, VertxTestContext testContext) {
+        JsonObject config = config("b3");
+
+        createHttpServer(vertx, config, ctx -> ctx.end(String.join(" ",
+                ContextualData.get(TracingConfigHelper.TRACE_ID_KEY),
+                ContextualData.get(TracingConfigHelper.SPAN_ID_KEY),
+                ContextualData.get(TracingConfigHelper.PARENT_ID_KEY))))
+            .flatMap(server -> WebClient.create(vertx)
+                .get(server.actualPort(), "localhost", "/")
+                .putHeader("b3", "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd1-1-05e3ac9a4f6e3b90")
+                .send())
+            .map(HttpResponse::bodyAsString)
+            .onComplete(testContext.succeeding(body -> testContext.verify(() -> {
+                Assertions.assertThat(body).isEqualTo("80f198ee56343ba864fe8b2a57d3eff7 e457b5a2e4d86bd1 05e3ac9a4f6e3b90");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_tracingHandler_whenRecordHasTraceParent_expectContextualData(Vertx vertx, VertxTestContext testContext) {
+        TracePropagation propagation = TracePropagation.create(config("w3c"));
+        ConsumerRecord<String, String> consumerRecord = new ConsumerRecord<>("topic", 0, 0, "key", "value");
+        consumerRecord.headers().add("traceparent", TRACE_PARENT.getBytes(StandardCharsets.UTF_8));
+
+        Handler<KafkaConsumerRecord<String, String>> handler = KafkaHelper.tracingHandler(record -> testContext.verify(() -> {
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.TRACE_ID_KEY)).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.SPAN_ID_KEY)).isEqualTo("00f067aa0ba902b7");
+            testContext.completeNow();
+        }), propagation);
+
+        vertx.runOnContext(v -> handler.handle(new KafkaConsumerRecordImpl<>(consumerRecord)));
+    }
+
+    @Test
+    public void test_inject_whenNotSampledTraceParentIsExtracted_expectNotSampledFlagSent(Vertx vertx, VertxTestContext testContext) {
+        TracePropagation propagation = TracePropagation.create(config("w3c"));
+        String notSampled = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00";
+
+        vertx.runOnContext(v -> testContext.verify(() -> {
+            propagation.extract(Map.of("traceparent", notSampled)::get);
+            Map<String, String> headers = new HashMap<>();
+            propagation.inject(headers::put);
+            Assertions.assertThat(headers).containsEntry("traceparent", notSampled);
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    public void test_inject_whenB3SamplingStateIsExtracted_expectSamplingStateSent(Vertx vertx, VertxTestContext testContext) {
+        TracePropagation propagation = TracePropagation.create(config("b3"));
+
+        vertx.runOnContext(v -> testContext.verify(() -> {
+            propagation.extract(Map.of("b3", "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd1-0")::get);
+            Map<String, String> headers = new HashMap<>();
+            propagation.inject(headers::put);
+            Assertions.assertThat(headers).containsEntry("b3", "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd1-0");
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    public void test_inject_whenSamplingStateIsUnknown_expectDecisionLeftToDownstream(Vertx vertx, VertxTestContext testContext) {
+        TracePropagation w3c = TracePropagation.create(config("w3c"));
+        TracePropagation b3 = TracePropagation.create(config("b3"));
+
+        vertx.runOnContext(v -> testContext.verify(() -> {
+            b3.extract(Map.of("b3", "64fe8b2a57d3eff7-e457b5a2e4d86bd1")::get);
+            Map<String, String> headers = new HashMap<>();
+            w3c.inject(headers::put);
+            b3.inject(headers::put);
+            Assertions.assertThat(headers)
+                .containsEntry("traceparent", "00-000000000000000064fe8b2a57d3eff7-e457b5a2e4d86bd1-00")
+                .containsEntry("b3", "64fe8b2a57d3eff7-e457b5a2e4d86bd1");
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    public void test_inject_whenB3IdsAreNotValid_expectNoHeader(Vertx vertx, VertxTestContext testContext) {
+        TracePropagation propagation = TracePropagation.create(config("b3"));
+
+        vertx.runOnContext(v -> testContext.verify(() -> {
+            Map<String, String> headers = new HashMap<>();
+            for (String[] ids : List.of(
+                new String[] {"0000000000000000", "e457b5a2e4d86bd1"},
+                new String[] {"80f198ee56343ba864fe8b2a57d3eff", "e457b5a2e4d86bd1"},
+                new String[] {"80f198ee56343ba8", "e457b5a2e4d86bd1-1"},
+                new String[] {"80f198ee56343ba8", "E457B5A2E4D86BD1"})) {
+                ContextualData.put(TracingConfigHelper.TRACE_ID_KEY, ids[0]);
+                ContextualData.put(TracingConfigHelper.SPAN_ID_KEY, ids[1]);
+                propagation.inject(headers::put);
+            }
+            Assertions.assertThat(headers).isEmpty();
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    public void test_extract_whenB3HeaderIsNotValid_expectNoContextualData(Vertx vertx, VertxTestContext testContext) {
+        TracePropagation propagation = TracePropagation.create(config("b3"));
+
+        vertx.runOnContext(v -> testContext.verify(() -> {
+            for (String b3 : List.of(
+                "80f198ee56343ba864fe8b2a57d3eff-e457b5a2e4d86bd1",
+                "80F198EE56343BA864FE8B2A57D3EFF7-e457b5a2e4d86bd1",
+                "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd",
+                "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd1-x",
+                "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd1-1-05e3ac9a",
+                "xyz-e457b5a2e4d86bd1",
+                "1")) {
+                propagation.extract(Map.of("b3", b3)::get);
+            }
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.TRACE_ID_KEY)).isNull();
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.SPAN_ID_KEY)).isNull();
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.SAMPLED_KEY)).isNull();
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    public void test_create_whenFormatIsUnknown_expectException() {
+        Assertions.assertThatThrownBy(() -> TracePropagation.create(config("unknown")))
+            .isInstanceOf(IllegalConfigurationException.class);
+    }
+
+    @Test
+    public void test_create_whenDisabled_expectNull() {
+        Assertions.assertThat(TracePropagation.create(new JsonObject())).isNull();
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx, JsonObject config, Handler<RoutingContext> handler) {
+        Router router = Router.router(vertx);
+        new TracePropagationRouterHandler().apply(vertx, router, config);
+        router.get("/").handler(handler);
+        return vertx.createHttpServer()
+            .requestHandler(router)
+            .listen(RandomPort.port());
+    }
+
+    private JsonObject config(String format) {
+        return new JsonObject()
+            .put("tracing", new JsonObject()
+                .put("propagation", new JsonObject()
+                    .put("enabled", true)
+                    .put("format", format)));
+    }
+
+}
@@ -0,0 +1,84 @@
+package io.github.balconyseats.vertx.helper.application.tracing;
+
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.reactiverse.contextual.logging.ContextualData;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class TracingConfigHelperTest {
+
+    private static final String ADDRESS = "tracing.test";
+    private static final String TRACE_ID = "463ac35c9f6413ad";
+    private static final String SPAN_ID = "a2fb4a1d1a96d312";
+
+    @Test
+    public void test_contextualDataForEventBus_whenTraceParentPropagation_expectSingleHeader(Vertx vertx, VertxTestContext testContext) {
+        TracingConfigHelper.contextualDataForEventBus(vertx, config("traceparent"));
+
+        vertx.eventBus().<String>consumer(ADDRESS, message -> testContext.verify(() -> {
+            Assertions.assertThat(message.headers().names()).containsExactly(TraceParent.HEADER);
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.TRACE_ID_KEY)).isEqualTo(TRACE_ID);
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.SPAN_ID_KEY)).isEqualTo(SPAN_ID);
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.SAMPLED_KEY)).isEqualTo(TracingConfigHelper.SAMPLED);
+            testContext.completeNow();
+        }));
+
+        sendWithTrace(vertx);
+    }
+
+    @Test
+    public void test_contextualDataForEventBus_whenHeadersPropagation_expectTraceHeaders(Vertx vertx, VertxTestContext testContext) {
+        TracingConfigHelper.contextualDataForEventBus(vertx, config("headers"));
+
+        vertx.eventBus().<String>consumer(ADDRESS, message -> testContext.verify(() -> {
+            Assertions.assertThat(message.headers().get(TracingConfigHelper.TRACE_ID_KEY)).isEqualTo(TRACE_ID);
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.SPAN_ID_KEY)).isEqualTo(SPAN_ID);
+            testContext.completeNow();
+        }));
+
+        sendWithTrace(vertx);
+    }
+
+    @Test
+    public void test_contextualDataForEventBus_whenNoActiveTrace_expectNoHeaders(Vertx vertx, VertxTestContext testContext) {
+        TracingConfigHelper.contextualDataForEventBus(vertx, config("traceparent"));
+
+        vertx.eventBus().<String>consumer(ADDRESS, message -> testContext.verify(() -> {
+            Assertions.assertThat(message.headers().isEmpty()).isTrue();
+            Assertions.assertThat(ContextualData.get(TracingConfigHelper.TRACE_ID_KEY)).isNull();
+            testContext.completeNow();
+        }));
+
+        vertx.eventBus().send(ADDRESS, "message");
+    }
+
+    @Test
+    public void test_contextualDataForEventBus_whenUnknownPropagation_expectException(Vertx vertx) {
+        Assertions.assertThatThrownBy(() -> TracingConfigHelper.contextualDataForEventBus(vertx, config("unknown")))
+            .isInstanceOf(IllegalConfigurationException.class);
+    }
+
+    private void sendWithTrace(Vertx vertx) {
+        ((ContextInternal) vertx.getOrCreateContext()).duplicate().runOnContext(v -> {
+            ContextualData.put(TracingConfigHelper.TRACE_ID_KEY, TRACE_ID);
+            ContextualData.put(TracingConfigHelper.SPAN_ID_KEY, SPAN_ID);
+            ContextualData.put(TracingConfigHelper.SAMPLED_KEY, TracingConfigHelper.SAMPLED);
+            vertx.eventBus().send(ADDRESS, "message");
+        });
+    }
+
+    private JsonObject config(String propagation) {
+        return new JsonObject()
+            .put("tracing", new JsonObject()
+                .put("zipkin", new JsonObject().put("enabled", true))
+                .put("eventbus", new JsonObject().put("propagation", propagation)));
+    }
+
+}
@@ -3,20 +3,36 @@ package io.github.balconyseats.vertx.helper.auth.jwt;
 import io.github.balconyseats.vertx.helper.http.HttpStatusCode;
 import io.github.balconyseats.vertx.helper.test.util.JWTUtil;
 import io.github.balconyseats.vertx.helper.test.util.RandomPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.NoSuchKeyIdException;
+import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import org.apache.commons.lang3.tuple.Pair;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
 
 @ExtendWith(VertxExtension.class)
 class ConfigJWTAuthProviderTest {
@@ -100,6 +116,330 @@ class ConfigJWTAuthProviderTest {
 
     }
 
+    @Test
+    public void test_authenticate_whenJwksContainsMoreKeysThanCacheSize_expectAllKeysTrusted(Vertx vertx, VertxTestContext testContext) {
+
+        JsonObject jwks = new JsonObject(JWKS_URI_KEYS);
+        JsonObject key = jwks.getJsonArray("keys").getJsonObject(0);
+        jwks.put("keys", new JsonArray()
+            .add(key.copy().put("kid", "rotated-key-id-1"))
+            .add(key.copy().put("kid", "rotated-key-id-2"))
+            .add(key));
+
+        createHttpServer(vertx, jwks.encode(), HttpStatusCode.OK)
+            .onSuccess(httpServer -> {
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject().put("size", 1)));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                provider.authenticate(new TokenCredentials(jwt),
+                    testContext.succeeding(u -> testContext.verify(() -> {
+                        Assertions.assertThat(u.attributes().getString("iss")).isEqualTo("bar");
+                        testContext.completeNow();
+                    }))
+                );
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenJwksUriConfigurationIsProvided_expectJwksRetrievedOnce(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+
+        createHttpServer(vertx, JWKS_URI_KEYS, HttpStatusCode.OK, requests)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(httpServer.actualPort()));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .flatMap(u -> authenticate(provider, jwt))
+                    .onComplete(testContext.succeeding(u -> testContext.verify(() -> {
+                        Assertions.assertThat(u.attributes().getString("iss")).isEqualTo("bar");
+                        Assertions.assertThat(requests.get()).isEqualTo(1);
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenConcurrentRequestsForSameIssuer_expectJwksRetrievedOnce(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+
+        createHttpServer(vertx, JWKS_URI_KEYS, HttpStatusCode.OK, requests)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(httpServer.actualPort()));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                CompositeFuture.all(authenticate(provider, jwt), authenticate(provider, jwt), authenticate(provider, jwt))
+                    .onComplete(testContext.succeeding(r -> testContext.verify(() -> {
+                        Assertions.assertThat(requests.get()).isEqualTo(1);
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenJwksUriRetrieveFails_expectFailureNotCached(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+
+        createHttpServer(vertx, "", HttpStatusCode.NOT_FOUND, requests)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(httpServer.actualPort()));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .recover(t -> authenticate(provider, jwt))
+                    .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                        Assertions.assertThat(requests.get()).isEqualTo(2);
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenTokenKeyIdIsUnknown_expectJwksReloaded(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+
+        createHttpServer(vertx, List.of(
+            Pair.of(JWKS_URI_KEYS.replace("foo-jwk-uri-key-id", "old-key-id"), HttpStatusCode.OK),
+            Pair.of(JWKS_URI_KEYS, HttpStatusCode.OK)
+        ), requests)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject().put("minReloadIntervalSeconds", 0)));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .onComplete(testContext.succeeding(u -> testContext.verify(() -> {
+                        Assertions.assertThat(u.attributes().getString("iss")).isEqualTo("bar");
+                        Assertions.assertThat(requests.get()).isEqualTo(2);
+                        provider.close();
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenJwksReloaded_expectConnectionReused(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger connections = new AtomicInteger();
+
+        createHttpServer(vertx, List.of(
+            Pair.of(JWKS_URI_KEYS.replace("foo-jwk-uri-key-id", "old-key-id"), HttpStatusCode.OK),
+            Pair.of(JWKS_URI_KEYS, HttpStatusCode.OK)
+        ), requests, connections)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject().put("minReloadIntervalSeconds", 0)));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .onComplete(testContext.succeeding(u -> testContext.verify(() -> {
+                        Assertions.assertThat(requests.get()).isEqualTo(2);
+                        Assertions.assertThat(connections.get()).isEqualTo(1);
+                        provider.close();
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenCallersWaitForSameLoad_expectResultOnCallerContext(Vertx vertx, VertxTestContext testContext) {
+
+        vertx.createHttpServer()
+            .requestHandler(request -> vertx.setTimer(100, id -> request.response()
+                .putHeader("Content-Type", "application/json")
+                .end(JWKS_URI_KEYS)))
+            .listen(RandomPort.port())
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject()));
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+                Checkpoint authenticated = testContext.checkpoint(2);
+
+                for (int i = 0; i < 2; i++) {
+                    Context context = ((VertxInternal) vertx).createEventLoopContext();
+                    context.runOnContext(v -> provider.authenticate(new TokenCredentials(jwt),
+                        testContext.succeeding(u -> testContext.verify(() -> {
+                            Assertions.assertThat(Vertx.currentContext()).isSameAs(context);
+                            authenticated.flag();
+                        }))));
+                }
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_shared_whenVerticlesUseSameConfig_expectOneProviderUntilAllAreUndeployed(Vertx vertx, VertxTestContext testContext) {
+
+        JsonObject config = clientsConfig(-1);
+        List<ConfigJWTAuthProvider> providers = new CopyOnWriteArrayList<>();
+        Supplier<Verticle> verticle = () -> new AbstractVerticle() {
+            @Override
+            public void start() {
+                providers.add(ConfigJWTAuthProvider.shared(vertx, config, JWTAuthMetrics.NOOP));
+            }
+        };
+
+        vertx.deployVerticle(verticle.get())
+            .flatMap(first -> vertx.deployVerticle(verticle.get())
+                .flatMap(second -> vertx.undeploy(first)
+                    .flatMap(v -> vertx.deployVerticle(verticle.get()))
+                    .flatMap(third -> vertx.undeploy(second).flatMap(v -> vertx.undeploy(third)))))
+            .flatMap(v -> vertx.deployVerticle(verticle.get()))
+            .onComplete(testContext.succeeding(last -> testContext.verify(() -> {
+                Assertions.assertThat(providers).hasSize(4);
+                Assertions.assertThat(providers.subList(0, 3)).containsOnly(providers.get(0));
+                Assertions.assertThat(providers.get(3)).isNotSameAs(providers.get(0));
+                testContext.completeNow();
+            })));
+
+    }
+
+    @Test
+    public void test_authenticate_whenJwksUriDoesNotRespond_expectFailure_readTimeout(Vertx vertx, VertxTestContext testContext) {
+
+        vertx.createHttpServer()
+            .requestHandler(request -> {
+                // never respond
+            })
+            .listen(RandomPort.port())
+            .onSuccess(httpServer -> {
+
+                JsonObject config = jwksUriClientsConfig(httpServer.actualPort(), new JsonObject());
+                config.getJsonArray("clients").getJsonObject(0).getJsonObject("jwks-uri").put("readTimeoutMillis", 100);
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, config);
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                        Assertions.assertThat(t).hasMessageContaining("timeout");
+                        provider.close();
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenTokenKeyIdIsUnknownAndReloadIsRateLimited_expectFailure(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+
+        createHttpServer(vertx, List.of(
+            Pair.of(JWKS_URI_KEYS.replace("foo-jwk-uri-key-id", "old-key-id"), HttpStatusCode.OK),
+            Pair.of(JWKS_URI_KEYS, HttpStatusCode.OK)
+        ), requests)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject().put("minReloadIntervalSeconds", 60)));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                        Assertions.assertThat(t).isInstanceOf(NoSuchKeyIdException.class);
+                        Assertions.assertThat(requests.get()).isEqualTo(1);
+                        provider.close();
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenJwksExpiredAndReloadFails_expectPreviousKeysUsed(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+
+        createHttpServer(vertx, List.of(
+            Pair.of(JWKS_URI_KEYS, HttpStatusCode.OK),
+            Pair.of("", HttpStatusCode.INTERNAL_SERVER_ERROR)
+        ), requests)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject().put("timeToLiveSeconds", 0)));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .flatMap(u -> authenticate(provider, jwt))
+                    .flatMap(u -> Future.<Void>future(p -> vertx.setTimer(200, id -> p.complete())))
+                    .flatMap(u -> authenticate(provider, jwt))
+                    .onComplete(testContext.succeeding(u -> testContext.verify(() -> {
+                        Assertions.assertThat(u.attributes().getString("iss")).isEqualTo("bar");
+                        Assertions.assertThat(requests.get()).isGreaterThan(1);
+                        provider.close();
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
+    @Test
+    public void test_authenticate_whenJwksTimeToLiveIsShort_expectNoBackgroundRefreshBeforeOneSecond(Vertx vertx, VertxTestContext testContext) {
+
+        AtomicInteger requests = new AtomicInteger();
+
+        createHttpServer(vertx, JWKS_URI_KEYS, HttpStatusCode.OK, requests)
+            .onSuccess(httpServer -> {
+
+                ConfigJWTAuthProvider noCache = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject().put("timeToLiveSeconds", 0)));
+                ConfigJWTAuthProvider shortCache = new ConfigJWTAuthProvider(vertx,
+                    jwksUriClientsConfig(httpServer.actualPort(), new JsonObject().put("timeToLiveSeconds", 1)));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(noCache, jwt)
+                    .flatMap(u -> authenticate(shortCache, jwt))
+                    .flatMap(u -> Future.<Void>future(p -> vertx.setTimer(300, id -> p.complete())))
+                    .onComplete(testContext.succeeding(u -> testContext.verify(() -> {
+                        Assertions.assertThat(requests.get()).isEqualTo(2);
+                        noCache.close();
+                        shortCache.close();
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
     @Test
     public void test_authenticate_whenJwksUriConfigurationIsProvided_expectFailure_onUnsuccessJwksRetrieve(Vertx vertx, VertxTestContext testContext) {
 
@@ -151,6 +491,83 @@ class ConfigJWTAuthProviderTest {
 
     }
 
+    @Test
+    public void test_authenticate_whenTokenSignedWithUnknownKey_expectFailure_signatureVerificationFailed(Vertx vertx, VertxTestContext testContext) {
+        ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(-1));
+
+        String jwt = JWTUtil.builder(vertx)
+            .setKeyId("foo-key-id")
+            .setAlgorithm("RS512")
+            .setPrivateKeyPem(JWTUtil.JWK_RSA_UNKNOWN_PRIVATE_KEY)
+            .setIssuer("foo")
+            .setSubject("foo")
+            .setExpiresInSeconds(60)
+            .build()
+            .jwt();
+
+        provider.authenticate(new TokenCredentials(jwt),
+            testContext.failing(t -> testContext.verify(() -> {
+                Assertions.assertThat(t).hasMessage("Signature verification failed");
+                testContext.completeNow();
+            }))
+        );
+
+    }
+
+    @Test
+    public void test_authenticate_whenTokenIsNotSigned_expectFailure(Vertx vertx, VertxTestContext testContext) {
+        ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(-1));
+
+        String jwt = generateJWT(vertx, "foo", "foo-key-id", 60);
+        String unsignedJwt = jwt.substring(0, jwt.lastIndexOf('.') + 1);
+
+        provider.authenticate(new TokenCredentials(unsignedJwt),
+            testContext.failing(t -> testContext.verify(() -> {
+                Assertions.assertThat(t).hasMessage("Signature is required");
+                testContext.completeNow();
+            }))
+        );
+
+    }
+
+    @Test
+    public void test_authenticate_whenEcJwksConfigurationIsProvided_expectSuccess(Vertx vertx, VertxTestContext testContext) {
+        JsonObject config = new JsonObject()
+            .put("clients", new JsonArray().add(
+                new JsonObject()
+                    .put("issuer", "ec")
+                    .put("jwks", new JsonArray()
+                        .add(new JsonObject()
+                            .put("key-id", "ec-key-id")
+                            .put("algorithm", "ES256")
+                            .put("public-key-pem", JWTUtil.JWK_EC_PUBLIC_KEY)
+                        )
+                    )
+            ));
+
+        ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, config);
+
+        String jwt = JWTUtil.builder(vertx)
+            .setKeyId("ec-key-id")
+            .setAlgorithm("ES256")
+            .setPrivateKeyPem(JWTUtil.JWK_EC_PRIVATE_KEY)
+            .setIssuer("ec")
+            .setSubject("ec")
+            .setExpiresInSeconds(60)
+            .build()
+            .jwt();
+
+        provider.authenticate(new TokenCredentials(jwt),
+            testContext.succeeding(u -> testContext.verify(() -> {
+                Assertions.assertThat(u.principal().getString("access_token")).isEqualTo(jwt);
+                Assertions.assertThat(u.attributes().getString("sub")).isEqualTo("ec");
+                Assertions.assertThat(u.attributes().getJsonObject("accessToken").getString("iss")).isEqualTo("ec");
+                testContext.completeNow();
+            }))
+        );
+
+    }
+
     @Test
     public void test_authenticate_whenJwksConfigurationIsProvided_expectFailure_invalidJWTIssuer(Vertx vertx, VertxTestContext testContext) {
         ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(10000));
@@ -182,6 +599,115 @@ class ConfigJWTAuthProviderTest {
 
     }
 
+    @Test
+    public void test_authenticate_whenTokenCacheEnabled_expectVerifiedTokenCached(Vertx vertx, VertxTestContext testContext) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(-1)
+            .put("token-cache", new JsonObject().put("enabled", true)), MicrometerJWTAuthMetrics.instance(registry));
+
+        String jwt = generateJWT(vertx, "foo", "foo-key-id", 60);
+
+        authenticate(provider, jwt)
+            .flatMap(first -> authenticate(provider, jwt).map(second -> Pair.of(first, second)))
+            .onComplete(testContext.succeeding(users -> testContext.verify(() -> {
+                Assertions.assertThat(users.getRight()).isNotSameAs(users.getLeft());
+                Assertions.assertThat(users.getRight().principal()).isEqualTo(users.getLeft().principal());
+                Assertions.assertThat(users.getRight().attributes().getString("iss")).isEqualTo("foo");
+                Assertions.assertThat(tokenCacheCount(registry, "hit")).isEqualTo(1);
+                Assertions.assertThat(tokenCacheCount(registry, "miss")).isEqualTo(1);
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_authenticate_whenCachedUserClaimsModified_expectNextUserNotAffected(Vertx vertx, VertxTestContext testContext) {
+        ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(-1)
+            .put("token-cache", new JsonObject().put("enabled", true)));
+
+        String jwt = generateJWT(vertx, "foo", "foo-key-id", 60);
+
+        authenticate(provider, jwt)
+            .flatMap(first -> {
+                first.principal().getJsonArray("roles").add("admin");
+                first.attributes().getJsonObject("accessToken").put("sub", "admin");
+                return authenticate(provider, jwt);
+            })
+            .onComplete(testContext.succeeding(second -> testContext.verify(() -> {
+                Assertions.assertThat(second.principal().getJsonArray("roles")).containsExactly("role_1", "role_2");
+                Assertions.assertThat(second.attributes().getJsonObject("accessToken").getString("sub")).isEqualTo("foo");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_authenticate_whenTokenCacheIsFull_expectOtherTokenEvicted(Vertx vertx, VertxTestContext testContext) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(-1)
+            .put("token-cache", new JsonObject().put("enabled", true).put("size", 1)), MicrometerJWTAuthMetrics.instance(registry));
+
+        String jwt = generateJWT(vertx, "foo", "foo-key-id", 60);
+        String otherJwt = generateJWT(vertx, "foo", "foo-key-id", 120);
+
+        authenticate(provider, jwt)
+            .flatMap(u -> authenticate(provider, otherJwt))
+            .flatMap(u -> authenticate(provider, jwt))
+            .onComplete(testContext.succeeding(u -> testContext.verify(() -> {
+                Assertions.assertThat(provider.tokenCache().size()).isEqualTo(1);
+                Assertions.assertThat(tokenCacheCount(registry, "hit")).isEqualTo(0);
+                Assertions.assertThat(tokenCacheCount(registry, "miss")).isEqualTo(3);
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_authenticate_whenTokenCacheEnabledAndTokenExpired_expectFailureNotCached(Vertx vertx, VertxTestContext testContext) {
+        ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(-1)
+            .put("token-cache", new JsonObject().put("enabled", true)));
+
+        String jwt = generateJWT(vertx, "foo", "foo-key-id", -60);
+
+        provider.authenticate(new TokenCredentials(jwt),
+            testContext.failing(t -> testContext.verify(() -> {
+                Assertions.assertThat(t).hasMessage("Invalid JWT token: token expired.");
+                Assertions.assertThat(provider.tokenCache().size()).isEqualTo(0);
+                testContext.completeNow();
+            }))
+        );
+    }
+
+    @Test
+    public void test_authenticate_whenMetricsProvided_expectMetricsRecordedByIssuer(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, JWKS_URI_KEYS, HttpStatusCode.OK)
+            .onSuccess(httpServer -> {
+                SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                ConfigJWTAuthProvider provider = new ConfigJWTAuthProvider(vertx, clientsConfig(httpServer.actualPort())
+                    .put("token-cache", new JsonObject().put("enabled", true)), MicrometerJWTAuthMetrics.instance(registry));
+
+                String jwt = generateJWT(vertx, "bar", "foo-jwk-uri-key-id", 60);
+
+                authenticate(provider, jwt)
+                    .flatMap(u -> authenticate(provider, jwt))
+                    .flatMap(u -> authenticate(provider, generateJWT(vertx, "invalid", "foo-jwk-uri-key-id", 60)))
+                    .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                        Assertions.assertThat(registry.get(MicrometerJWTAuthMetrics.VERIFICATION_TIMER)
+                            .tags("issuer", "bar", "result", "success").timer().count()).isEqualTo(2);
+                        Assertions.assertThat(registry.get(MicrometerJWTAuthMetrics.VERIFICATION_TIMER)
+                            .tags("issuer", JWTAuthMetrics.UNKNOWN_ISSUER, "result", "failure").timer().count()).isEqualTo(1);
+                        Assertions.assertThat(registry.get(MicrometerJWTAuthMetrics.TOKEN_CACHE_COUNTER)
+                            .tags("issuer", "bar", "result", "hit").counter().count()).isEqualTo(1);
+                        Assertions.assertThat(registry.get(MicrometerJWTAuthMetrics.TOKEN_CACHE_COUNTER)
+                            .tags("issuer", "bar", "result", "miss").counter().count()).isEqualTo(1);
+                        Assertions.assertThat(registry.get(MicrometerJWTAuthMetrics.JWKS_FETCH_TIMER)
+                            .tags("issuer", "bar", "result", "success").timer().count()).isEqualTo(1);
+                        provider.close();
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+
+    }
+
     @Test
     public void test_authenticate_whenNoJwkConfigIsProvided_expectFailure_invalidConfiguration(Vertx vertx, VertxTestContext testContext) {
 
@@ -329,13 +855,54 @@ class ConfigJWTAuthProviderTest {
     }
 
 
+    private JsonObject jwksUriClientsConfig(int port, JsonObject cache) {
+        return new JsonObject()
+            .put("clients", new JsonArray()
+                .add(new JsonObject()
+                    .put("issuer", "bar")
+                    .put("jwks-uri", new JsonObject()
+                        .put("uri", String.format("http://localhost:%d/keys", port))
+                        .put("cache", cache)
+                    )
+                )
+            );
+    }
+
+    private double tokenCacheCount(SimpleMeterRegistry registry, String result) {
+        return registry.get(MicrometerJWTAuthMetrics.TOKEN_CACHE_COUNTER).tags("issuer", "foo", "result", result)
+            .counter().count();
+    }
+
+    private Future<User> authenticate(ConfigJWTAuthProvider provider, String jwt) {
+        Promise<User> promise = Promise.promise();
+        provider.authenticate(new TokenCredentials(jwt), promise);
+        return promise.future();
+    }
+
     private Future<HttpServer> createHttpServer(Vertx vertx, String response, HttpStatusCode statusCode) {
+        return createHttpServer(vertx, response, statusCode, new AtomicInteger());
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx, String response, HttpStatusCode statusCode, AtomicInteger requests) {
+        return createHttpServer(vertx, List.of(Pair.of(response, statusCode)), requests);
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx, List<Pair<String, HttpStatusCode>> responses, AtomicInteger requests) {
+        return createHttpServer(vertx, responses, requests, new AtomicInteger());
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx, List<Pair<String, HttpStatusCode>> responses, AtomicInteger requests,
+                                                AtomicInteger connections) {
         return vertx.createHttpServer()
+            .connectionHandler(connection -> connections.incrementAndGet())
             .requestHandler(request -> {
+                Pair<String, HttpStatusCode> response = responses.get(Math.min(requests.getAndIncrement(), responses.size() - 1));
+                String body = response.getLeft();
+                HttpStatusCode statusCode = response.getRight();
                 if (request.method() != HttpMethod.GET) {
                     request.response().setStatusCode(HttpStatusCode.METHOD_NOT_ALLOWED.code()).end(String.format("Method %s not allowed", request.method()));
                 }
-                request.response().setStatusCode(statusCode.code()).putHeader("Content-Type", "application/json").end(response);
+                request.response().setStatusCode(statusCode.code()).putHeader("Content-Type", "application/json").end(body);
             })
             .listen(RandomPort.port());
     }
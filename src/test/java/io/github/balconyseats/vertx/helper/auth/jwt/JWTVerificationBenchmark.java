@@ -0,0 +1,111 @@
+package io.github.balconyseats.vertx.helper.auth.jwt;
+
+import io.github.balconyseats.vertx.helper.test.util.JWTUtil;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.PubSecKeyOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.impl.jose.JWK;
+import io.vertx.ext.auth.impl.jose.JWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JWT verification path of {@link ConfigJWTAuthProvider} with previous implementation which
+ * parsed token twice and deep copied claims.
+ * <p>
+ * Run with:
+ * <pre>
+ *     mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ *     java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *       org.openjdk.jmh.Main JWTVerificationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTVerificationBenchmark {
+
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    private Vertx vertx;
+    private String token;
+    private JWT jwt;
+    private ConfigJWTAuthProvider provider;
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx();
+        boolean rsa = algorithm.startsWith("RS");
+        String publicKey = rsa ? JWTUtil.JWK_RSA_PUBLIC_KEY : JWTUtil.JWK_EC_PUBLIC_KEY;
+
+        token = JWTUtil.builder(vertx)
+            .setKeyId("key-id")
+            .setAlgorithm(algorithm)
+            .setPrivateKeyPem(rsa ? JWTUtil.JWK_RSA_PRIVATE_KEY : JWTUtil.JWK_EC_PRIVATE_KEY)
+            .setIssuer("issuer")
+            .setSubject("subject")
+            .setExpiresInSeconds(3600)
+            .setClaims(new JsonObject().put("roles", new JsonArray().add("role_1").add("role_2")))
+            .build()
+            .jwt();
+
+        jwt = new JWT().addJWK(new JWK(new PubSecKeyOptions()
+            .setId("key-id")
+            .setAlgorithm(algorithm)
+            .setBuffer(publicKey)));
+
+        provider = new ConfigJWTAuthProvider(vertx, new JsonObject()
+            .put("clients", new JsonArray().add(new JsonObject()
+                .put("issuer", "issuer")
+                .put("jwks", new JsonArray().add(new JsonObject()
+                    .put("key-id", "key-id")
+                    .put("algorithm", algorithm)
+                    .put("public-key-pem", publicKey)))
+            )));
+    }
+
+    @TearDown
+    public void tearDown() {
+        provider.close();
+        vertx.close();
+    }
+
+    /**
+     * Verification as done before single-parse path: parse for issuer, decode again and deep copy claims.
+     */
+    @Benchmark
+    public User parseTwice() {
+        JsonObject payload = JWT.parse(token).getJsonObject("payload");
+        if (!"issuer".equals(payload.getString("iss"))) {
+            throw new IllegalStateException();
+        }
+        JsonObject decoded = jwt.decode(token);
+        JsonObject principal = decoded.copy().put("access_token", token);
+        return User.create(principal, new JsonObject().put("accessToken", decoded).mergeIn(decoded));
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        provider.authenticate(new TokenCredentials(token), ar -> blackhole.consume(ar.result()));
+    }
+}
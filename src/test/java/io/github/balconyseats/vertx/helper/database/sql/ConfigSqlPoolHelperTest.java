@@ -1,14 +1,18 @@
 package io.github.balconyseats.vertx.helper.database.sql;
 
+import io.github.balconyseats.vertx.helper.application.configurer.ConfigInstancesVerticleConfigurer;
 import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.jdbcclient.JDBCPool;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.mssqlclient.MSSQLPool;
 import io.vertx.oracleclient.OraclePool;
+import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PoolOptions;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -155,4 +159,172 @@ class ConfigSqlPoolHelperTest {
             .hasMessage("Database type 'foo' is not supported.");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldConfigurePreparedStatementCacheAndPipelining() {
+
+        JsonObject dbConfig = new JsonObject()
+            .put("type", "postgresql")
+            .put("host", "localhost")
+            .put("cachePreparedStatements", true)
+            .put("preparedStatementCacheMaxSize", 512)
+            .put("preparedStatementCacheSqlLimit", 4096)
+            .put("pipeliningLimit", 64);
+
+        PgConnectOptions connectOptions = ConfigSqlPoolHelper.pgConnectOptions(dbConfig, "database");
+
+        Assertions.assertThat(connectOptions.getCachePreparedStatements()).isTrue();
+        Assertions.assertThat(connectOptions.getPreparedStatementCacheMaxSize()).isEqualTo(512);
+        Assertions.assertThat(connectOptions.getPipeliningLimit()).isEqualTo(64);
+
+    }
+
+    @Test
+    public void shouldThrowIllegalConfigurationException_whenPipeliningLimitIsNotPositive(Vertx vertx) {
+
+        JsonObject config = new JsonObject()
+            .put("database", new JsonObject()
+                .put("type", "postgresql")
+                .put("host", "localhost")
+                .put("pipeliningLimit", 0)
+            );
+
+        Assertions.assertThatThrownBy(() -> ConfigSqlPoolHelper.create(vertx, config))
+            .isInstanceOf(IllegalConfigurationException.class)
+            .hasMessage("Invalid value '0' of 'database.pipeliningLimit', expected positive integer.");
+
+    }
+
+    @Test
+    public void shouldThrowIllegalConfigurationException_whenPipeliningLimitIsSetForNonPostgresDatabase(Vertx vertx) {
+
+        JsonObject config = new JsonObject()
+            .put("database", new JsonObject()
+                .put("type", "mssql")
+                .put("host", "localhost")
+                .put("pipeliningLimit", 256)
+            );
+
+        Assertions.assertThatThrownBy(() -> ConfigSqlPoolHelper.create(vertx, config))
+            .isInstanceOf(IllegalConfigurationException.class)
+            .hasMessage("Option 'database.pipeliningLimit' is supported only for 'postgresql' database type.");
+
+    }
+
+    @Test
+    public void shouldThrowIllegalConfigurationException_whenStatementCacheIsSetForJdbc(Vertx vertx) {
+
+        JsonObject config = new JsonObject()
+            .put("database", new JsonObject()
+                .put("type", "jdbc")
+                .put("jdbcUrl", "jdbc:postgresql://localhost:5432/omte")
+                .put("cachePreparedStatements", true)
+            );
+
+        Assertions.assertThatThrownBy(() -> ConfigSqlPoolHelper.create(vertx, config))
+            .isInstanceOf(IllegalConfigurationException.class)
+            .hasMessage("Option 'database.cachePreparedStatements' is not supported for 'jdbc' database type, configure statement caching in JDBC driver.");
+
+    }
+
+    @Test
+    public void shouldConfigureSharedPoolNamedByRootWithEventLoopPerCore(Vertx vertx) {
+
+        JsonObject dbConfig = new JsonObject()
+            .put("type", "postgresql")
+            .put("pool", new JsonObject()
+                .put("maxSize", 8)
+                .put("shared", true)
+                .put("eventLoopSize", "auto")
+            );
+
+        PoolOptions poolOptions = ConfigSqlPoolHelper.poolOptions(vertx, dbConfig, "foo-database");
+
+        Assertions.assertThat(poolOptions.isShared()).isTrue();
+        Assertions.assertThat(poolOptions.getName()).isEqualTo("foo-database");
+        Assertions.assertThat(poolOptions.getMaxSize()).isEqualTo(8);
+        Assertions.assertThat(poolOptions.getEventLoopSize()).isEqualTo(ConfigInstancesVerticleConfigurer.eventLoops(vertx));
+
+    }
+
+    @Test
+    public void shouldThrowIllegalConfigurationException_whenEventLoopSizeIsInvalid(Vertx vertx) {
+
+        JsonObject config = new JsonObject()
+            .put("database", new JsonObject()
+                .put("type", "postgresql")
+                .put("host", "localhost")
+                .put("pool", new JsonObject()
+                    .put("eventLoopSize", -1)
+                )
+            );
+
+        Assertions.assertThatThrownBy(() -> ConfigSqlPoolHelper.create(vertx, config))
+            .isInstanceOf(IllegalConfigurationException.class)
+            .hasMessage("Invalid value '-1' of 'database.pool.eventLoopSize', expected non negative integer or 'auto'.");
+
+    }
+
+    @Test
+    public void shouldCreateReadWriteSplitPool_whenReplicasAreConfigured(Vertx vertx) {
+
+        JsonObject config = new JsonObject()
+            .put("database", new JsonObject()
+                .put("type", "postgresql")
+                .put("host", "primary")
+                .put("database", "database")
+                .put("user", "user")
+                .put("password", "password")
+                .put("replicas", new JsonArray()
+                    .add(new JsonObject().put("host", "replica-1"))
+                    .add(new JsonObject().put("host", "replica-2"))
+                )
+            );
+
+        Pool pool = ConfigSqlPoolHelper.create(vertx, config);
+
+        Assertions.assertThat(pool).isInstanceOf(ReadWriteSplitPool.class);
+        Assertions.assertThat(((ReadWriteSplitPool) pool).primary()).isInstanceOf(PgPool.class);
+        Assertions.assertThat(((ReadWriteSplitPool) pool).readPool()).isInstanceOf(PgPool.class)
+            .isNotSameAs(((ReadWriteSplitPool) pool).primary());
+        pool.close();
+
+    }
+
+    @Test
+    public void shouldThrowIllegalConfigurationException_whenAnyOfDatabasesIsInvalid(Vertx vertx) {
+
+        JsonObject config = new JsonObject()
+            .put("databases", new JsonObject()
+                .put("oltp", new JsonObject()
+                    .put("type", "postgresql")
+                    .put("host", "localhost"))
+                .put("reporting", new JsonObject()
+                    .put("type", "postgresql")
+                    .put("host", "localhost")
+                    .put("pool", new JsonObject().put("eventLoopSize", "many")))
+            );
+
+        Assertions.assertThatThrownBy(() -> ConfigSqlPoolHelper.createAll(vertx, config))
+            .isInstanceOf(IllegalConfigurationException.class)
+            .hasMessage("Invalid value 'many' of 'databases.reporting.pool.eventLoopSize', expected non negative integer or 'auto'.");
+
+    }
+
+    @Test
+    public void shouldNotWrapPool_whenDatabaseMetricsAreNotEnabled(Vertx vertx) {
+
+        JsonObject config = new JsonObject()
+            .put("metrics", new JsonObject()
+                .put("micrometer", new JsonObject().put("enabled", true)))
+            .put("database", new JsonObject()
+                .put("type", "postgresql")
+                .put("host", "localhost")
+            );
+
+        Pool pool = ConfigSqlPoolHelper.create(vertx, config);
+
+        Assertions.assertThat(pool).isInstanceOf(PgPool.class);
+
+    }
+}
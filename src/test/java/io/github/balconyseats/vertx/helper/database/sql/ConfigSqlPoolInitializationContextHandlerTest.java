@@ -1,10 +1,13 @@
 package io.github.balconyseats.vertx.helper.database.sql;
 
 import io.github.balconyseats.vertx.helper.application.InitializationContext;
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Pool;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -12,6 +15,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 
 @ExtendWith(VertxExtension.class)
 class ConfigSqlPoolInitializationContextHandlerTest {
@@ -58,4 +64,106 @@ class ConfigSqlPoolInitializationContextHandlerTest {
             })));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testHandle_expectPoolOfEachDatabaseInContextUnderItsName(Vertx vertx, VertxTestContext testContext) {
+
+        JsonObject config = new JsonObject()
+            .put("databases", new JsonObject()
+                .put("oltp", new JsonObject()
+                    .put("type", "postgresql")
+                    .put("host", "localhost")
+                    .put("pool", new JsonObject().put("maxSize", 20)))
+                .put("reporting", new JsonObject()
+                    .put("type", "postgresql")
+                    .put("host", "localhost")
+                    .put("pool", new JsonObject().put("maxSize", 2)))
+            );
+
+        InitializationContext initializationContext = new InitializationContext();
+        ConfigSqlPoolInitializationContextHandler.instance().configure(initializationContext, vertx, config)
+            .onComplete(testContext.succeeding(__ -> testContext.verify(() -> {
+                Assertions.assertThat(initializationContext.<Pool>get("oltp")).isInstanceOf(PgPool.class);
+                Assertions.assertThat(initializationContext.<Pool>get("reporting")).isInstanceOf(PgPool.class)
+                    .isNotSameAs(initializationContext.<Pool>get("oltp"));
+                Assertions.assertThat(initializationContext.<Pool>get("sqlpool")).isNull();
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void testHandle_whenDatabaseNameIsPoolKey_expectFailureAndPoolsClosed(Vertx vertx, VertxTestContext testContext) {
+
+        Pool oltp = closeablePool();
+        Pool sqlpool = closeablePool();
+        Map<String, Pool> pools = new LinkedHashMap<>();
+        pools.put("oltp", oltp);
+        pools.put("sqlpool", sqlpool);
+
+        JsonObject config = new JsonObject();
+        MockedStatic<ConfigSqlPoolHelper> poolHelperMockedStatic = Mockito.mockStatic(ConfigSqlPoolHelper.class);
+        poolHelperMockedStatic.when(() -> ConfigSqlPoolHelper.createAll(vertx, config))
+            .thenReturn(pools);
+
+        InitializationContext initializationContext = new InitializationContext();
+        ConfigSqlPoolInitializationContextHandler.instance().configure(initializationContext, vertx, config)
+            .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                Assertions.assertThat(t).isInstanceOf(IllegalConfigurationException.class).hasMessageContaining("sqlpool");
+                Assertions.assertThat(initializationContext.<Pool>get("oltp")).isNull();
+                Mockito.verify(oltp).close();
+                Mockito.verify(sqlpool).close();
+                poolHelperMockedStatic.close();
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void testHandle_whenDatabaseNameIsUsedInContext_expectFailure(Vertx vertx, VertxTestContext testContext) {
+
+        Pool oltp = closeablePool();
+
+        JsonObject config = new JsonObject();
+        MockedStatic<ConfigSqlPoolHelper> poolHelperMockedStatic = Mockito.mockStatic(ConfigSqlPoolHelper.class);
+        poolHelperMockedStatic.when(() -> ConfigSqlPoolHelper.createAll(vertx, config))
+            .thenReturn(Map.of("oltp", oltp));
+
+        InitializationContext initializationContext = new InitializationContext().add("oltp", "other");
+        ConfigSqlPoolInitializationContextHandler.instance().configure(initializationContext, vertx, config)
+            .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                Assertions.assertThat(t).isInstanceOf(IllegalConfigurationException.class);
+                Assertions.assertThat(initializationContext.<String>get("oltp")).isEqualTo("other");
+                Mockito.verify(oltp).close();
+                poolHelperMockedStatic.close();
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void testHandle_whenDefaultPoolCreationFails_expectDatabasePoolsClosed(Vertx vertx, VertxTestContext testContext) {
+
+        Pool oltp = closeablePool();
+
+        JsonObject config = new JsonObject().put("database", new JsonObject());
+        MockedStatic<ConfigSqlPoolHelper> poolHelperMockedStatic = Mockito.mockStatic(ConfigSqlPoolHelper.class);
+        poolHelperMockedStatic.when(() -> ConfigSqlPoolHelper.createAll(vertx, config))
+            .thenReturn(Map.of("oltp", oltp));
+        poolHelperMockedStatic.when(() -> ConfigSqlPoolHelper.create(vertx, config))
+            .thenThrow(new IllegalConfigurationException("Unknown database type"));
+
+        InitializationContext initializationContext = new InitializationContext();
+        ConfigSqlPoolInitializationContextHandler.instance().configure(initializationContext, vertx, config)
+            .onComplete(testContext.failing(t -> testContext.verify(() -> {
+                Assertions.assertThat(t).hasMessage("Unknown database type");
+                Assertions.assertThat(initializationContext.<Pool>get("oltp")).isNull();
+                Mockito.verify(oltp).close();
+                poolHelperMockedStatic.close();
+                testContext.completeNow();
+            })));
+    }
+
+    private Pool closeablePool() {
+        Pool pool = Mockito.mock(Pool.class);
+        Mockito.when(pool.close()).thenReturn(Future.succeededFuture());
+        return pool;
+    }
+
+}
@@ -0,0 +1,74 @@
+package io.github.balconyseats.vertx.helper.database.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class MeteredPoolTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetConnection_expectWaitAndInUseRecordedUntilConnectionIsClosed() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Pool delegate = Mockito.mock(Pool.class);
+        SqlConnection connection = Mockito.mock(SqlConnection.class);
+        Mockito.when(connection.close()).thenReturn(Future.succeededFuture());
+        Mockito.when(delegate.getConnection())
+            .thenReturn(Future.succeededFuture(connection))
+            .thenReturn(Future.succeededFuture(connection))
+            .thenReturn(Future.failedFuture("Timeout"));
+
+        MeteredPool pool = new MeteredPool(delegate, new SqlPoolMetrics(registry, "database"));
+
+        SqlConnection acquired = pool.getConnection().result();
+        Assertions.assertThat(registry.get(SqlPoolMetrics.POOL_CONNECTION_WAIT_TIMER).tag("pool", "database").timer().count()).isEqualTo(1L);
+        Assertions.assertThat(registry.get(SqlPoolMetrics.POOL_CONNECTION_IN_USE_GAUGE).gauge().value()).isEqualTo(1.0);
+
+        acquired.close();
+        acquired.close();
+        Assertions.assertThat(registry.get(SqlPoolMetrics.POOL_CONNECTION_IN_USE_GAUGE).gauge().value()).isZero();
+        Assertions.assertThat(MeteredPool.unwrap(acquired)).isSameAs(connection);
+
+        ArgumentCaptor<Handler<Void>> serverClose = ArgumentCaptor.forClass(Handler.class);
+        pool.getConnection();
+        Mockito.verify(connection, Mockito.times(2)).closeHandler(serverClose.capture());
+        Assertions.assertThat(registry.get(SqlPoolMetrics.POOL_CONNECTION_IN_USE_GAUGE).gauge().value()).isEqualTo(1.0);
+        serverClose.getValue().handle(null);
+        Assertions.assertThat(registry.get(SqlPoolMetrics.POOL_CONNECTION_IN_USE_GAUGE).gauge().value()).isZero();
+
+        Assertions.assertThat(pool.getConnection().failed()).isTrue();
+        Assertions.assertThat(registry.get(SqlPoolMetrics.POOL_CONNECTION_ACQUIRE_FAILURES_COUNTER).counter().count()).isEqualTo(1.0);
+        Assertions.assertThat(registry.get(SqlPoolMetrics.POOL_CONNECTION_PENDING_GAUGE).gauge().value()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPreparedQuery_expectLatencyTaggedByStatementTypeOrName() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Pool delegate = Mockito.mock(Pool.class);
+        PreparedQuery<RowSet<Row>> query = Mockito.mock(PreparedQuery.class);
+        Mockito.when(query.execute(Mockito.any(Tuple.class))).thenReturn(Future.succeededFuture());
+        Mockito.when(delegate.preparedQuery(Mockito.anyString())).thenReturn(query);
+
+        MeteredPool pool = new MeteredPool(delegate, new SqlPoolMetrics(registry, "database"));
+
+        pool.preparedQuery("  SELECT * FROM users WHERE id = $1").execute(Tuple.of(1));
+        MeteredPool.named(pool, "find-user").preparedQuery("SELECT * FROM users WHERE id = $1").execute(Tuple.of(1));
+
+        Assertions.assertThat(registry.get(SqlPoolMetrics.QUERY_TIMER).tags("query", "select", "result", "success").timer().count()).isEqualTo(1L);
+        Assertions.assertThat(registry.get(SqlPoolMetrics.QUERY_TIMER).tags("query", "find-user", "result", "success").timer().count()).isEqualTo(1L);
+        Assertions.assertThat(MeteredPool.statementType("/* comment */ vacuum")).isEqualTo("other");
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.github.balconyseats.vertx.helper.database.sql;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+
+import java.net.ConnectException;
+import java.util.List;
+
+@ExtendWith(VertxExtension.class)
+class ReadWriteSplitPoolTest {
+
+    @Test
+    public void shouldRouteReadsToReplicasAndOtherQueriesToPrimary(Vertx vertx) {
+
+        Pool primary = Mockito.mock(Pool.class);
+        Pool replica1 = Mockito.mock(Pool.class);
+        Pool replica2 = Mockito.mock(Pool.class);
+
+        ReadWriteSplitPool pool = new ReadWriteSplitPool(vertx, primary, List.of(replica1, replica2), "SELECT 1", 1000L);
+
+        Assertions.assertThat(pool.readPool()).isSameAs(replica1);
+        Assertions.assertThat(pool.readPool()).isSameAs(replica2);
+        Assertions.assertThat(pool.readPool()).isSameAs(replica1);
+
+        pool.query("UPDATE users SET name = 'foo'");
+        ReadWriteSplitPool.readOnly(pool).query("SELECT * FROM users");
+        Mockito.verify(primary).query("UPDATE users SET name = 'foo'");
+        Mockito.verify(replica2).query("SELECT * FROM users");
+    }
+
+    @Test
+    public void shouldSkipUnhealthyReplicaAndFallbackToPrimary(Vertx vertx, VertxTestContext testContext) {
+
+        Pool primary = Mockito.mock(Pool.class);
+        Pool replica1 = replica(Future.failedFuture("replica is down"));
+        Pool replica2 = replica(Future.succeededFuture());
+
+        ReadWriteSplitPool pool = new ReadWriteSplitPool(vertx, primary, List.of(replica1, replica2), "SELECT 1", 1000L);
+
+        pool.checkHealth()
+            .onComplete(testContext.succeeding(__ -> testContext.verify(() -> {
+                Assertions.assertThat(pool.readPool()).isSameAs(replica2);
+                Assertions.assertThat(pool.readPool()).isSameAs(replica2);
+
+                ReadWriteSplitPool primaryOnly = new ReadWriteSplitPool(vertx, primary, List.of(replica1), "SELECT 1", 1000L);
+                primaryOnly.checkHealth()
+                    .onComplete(testContext.succeeding(___ -> testContext.verify(() -> {
+                        Assertions.assertThat(primaryOnly.readPool()).isSameAs(primary);
+                        testContext.completeNow();
+                    })));
+            })));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRetryReadOnPrimaryAndSkipReplicaWhenReplicaConnectionFails(Vertx vertx, VertxTestContext testContext) {
+
+        RowSet<Row> rows = Mockito.mock(RowSet.class);
+        Pool primary = preparedQuery(Future.succeededFuture(rows));
+        Pool replica1 = preparedQuery(Future.failedFuture(new ConnectException("Connection refused")));
+        Pool replica2 = preparedQuery(Future.failedFuture(new IllegalStateException("syntax error")));
+
+        ReadWriteSplitPool pool = new ReadWriteSplitPool(vertx, primary, List.of(replica1, replica2), "SELECT 1", 1000L)
+            .startHealthCheck(60000L);
+
+        ReadWriteSplitPool.readOnly(pool).preparedQuery("SELECT * FROM users WHERE id = $1").execute(Tuple.of(1))
+            .onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+                Assertions.assertThat(result).isSameAs(rows);
+                Assertions.assertThat(pool.readPool()).isSameAs(replica2);
+                Assertions.assertThat(pool.readPool()).isSameAs(replica2);
+
+                ReadWriteSplitPool.readOnly(pool).preparedQuery("SELECT * FROM users WHERE id = $1").execute(Tuple.of(1))
+                    .onComplete(testContext.failing(failure -> testContext.verify(() -> {
+                        Assertions.assertThat(failure).hasMessage("syntax error");
+                        Assertions.assertThat(pool.readPool()).isSameAs(replica2);
+                        Mockito.verify(primary.preparedQuery("SELECT * FROM users WHERE id = $1"), Mockito.times(1)).execute(Mockito.any(Tuple.class));
+                        pool.close().onComplete(testContext.succeedingThenComplete());
+                    })));
+            })));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Pool preparedQuery(Future<RowSet<Row>> result) {
+        Pool pool = Mockito.mock(Pool.class);
+        PreparedQuery<RowSet<Row>> query = Mockito.mock(PreparedQuery.class);
+        Mockito.when(query.execute(Mockito.any(Tuple.class))).thenReturn(result);
+        Mockito.when(pool.preparedQuery("SELECT * FROM users WHERE id = $1")).thenReturn(query);
+        Mockito.when(pool.close()).thenReturn(Future.succeededFuture());
+        return pool;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Pool replica(Future<RowSet<Row>> result) {
+        Pool replica = Mockito.mock(Pool.class);
+        Query<RowSet<Row>> query = Mockito.mock(Query.class);
+        Mockito.when(query.execute()).thenReturn(result);
+        Mockito.when(replica.query("SELECT 1")).thenReturn(query);
+        return replica;
+    }
+
+}
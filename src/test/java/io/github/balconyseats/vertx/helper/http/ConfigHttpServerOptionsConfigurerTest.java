@@ -0,0 +1,132 @@
+package io.github.balconyseats.vertx.helper.http;
+
+import io.github.balconyseats.vertx.helper.exception.IllegalConfigurationException;
+import io.github.balconyseats.vertx.helper.test.util.RandomPort;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.commons.lang3.tuple.Pair;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(VertxExtension.class)
+class ConfigHttpServerOptionsConfigurerTest {
+
+    @Test
+    public void testConfigure_whenServerConfigIsProvided_expectOptionsConfigured() {
+        JsonObject config = new JsonObject()
+            .put("http", new JsonObject()
+                .put("server", new JsonObject()
+                    .put("port", 8081)
+                    .put("tcpNoDelay", false)
+                    .put("tcpFastOpen", true)
+                    .put("tcpQuickAck", true)
+                    .put("reusePort", true)
+                    .put("acceptBacklog", 2048)
+                    .put("sendBufferSize", 65536)
+                    .put("receiveBufferSize", 32768)
+                    .put("idleTimeoutSeconds", 30)
+                    .put("compression", new JsonObject().put("enabled", true).put("level", 3))
+                )
+            );
+
+        HttpServerOptions options = ConfigHttpServerOptionsConfigurer.instance().configure(config);
+
+        Assertions.assertThat(options.getPort()).isEqualTo(8081);
+        Assertions.assertThat(options.isTcpNoDelay()).isFalse();
+        Assertions.assertThat(options.isTcpFastOpen()).isTrue();
+        Assertions.assertThat(options.isTcpQuickAck()).isTrue();
+        Assertions.assertThat(options.isReusePort()).isTrue();
+        Assertions.assertThat(options.getAcceptBacklog()).isEqualTo(2048);
+        Assertions.assertThat(options.getSendBufferSize()).isEqualTo(65536);
+        Assertions.assertThat(options.getReceiveBufferSize()).isEqualTo(32768);
+        Assertions.assertThat(options.getIdleTimeout()).isEqualTo(30);
+        Assertions.assertThat(options.getIdleTimeoutUnit()).isEqualTo(TimeUnit.SECONDS);
+        Assertions.assertThat(options.isCompressionSupported()).isTrue();
+        Assertions.assertThat(options.getCompressionLevel()).isEqualTo(3);
+    }
+
+    @Test
+    public void testConfigure_whenHttp2ConfigIsProvided_expectHttp2Configured() {
+        JsonObject config = new JsonObject()
+            .put("http", new JsonObject()
+                .put("server", new JsonObject()
+                    .put("http2", new JsonObject()
+                        .put("enabled", true)
+                        .put("initialWindowSize", 1048576)
+                        .put("connectionWindowSize", 4194304)
+                        .put("maxConcurrentStreams", 256)
+                        .put("headerTableSize", 8192)
+                    )
+                )
+            );
+
+        HttpServerOptions options = ConfigHttpServerOptionsConfigurer.instance().configure(config);
+
+        Assertions.assertThat(options.isUseAlpn()).isTrue();
+        Assertions.assertThat(options.getAlpnVersions()).containsExactly(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1);
+        Assertions.assertThat(options.getInitialSettings().getInitialWindowSize()).isEqualTo(1048576);
+        Assertions.assertThat(options.getInitialSettings().getMaxConcurrentStreams()).isEqualTo(256);
+        Assertions.assertThat(options.getInitialSettings().getHeaderTableSize()).isEqualTo(8192);
+        Assertions.assertThat(options.getHttp2ConnectionWindowSize()).isEqualTo(4194304);
+    }
+
+    @Test
+    public void testConfigure_whenHttp2SettingIsInvalid_expectIllegalConfigurationException() {
+        JsonObject config = new JsonObject()
+            .put("http", new JsonObject()
+                .put("server", new JsonObject()
+                    .put("http2", new JsonObject().put("initialWindowSize", -1))
+                )
+            );
+
+        Assertions.assertThatThrownBy(() -> ConfigHttpServerOptionsConfigurer.instance().configure(config))
+            .isInstanceOf(IllegalConfigurationException.class);
+    }
+
+    @Test
+    public void testConfigure_whenH2cPriorKnowledgeRequest_expectHttp2SettingsSent(Vertx vertx, VertxTestContext testContext) {
+        JsonObject config = new JsonObject()
+            .put("http", new JsonObject()
+                .put("server", new JsonObject()
+                    .put("http2", new JsonObject().put("maxConcurrentStreams", 100))
+                )
+            );
+
+        vertx.createHttpServer(ConfigHttpServerOptionsConfigurer.instance().configure(config))
+            .requestHandler(request -> request.response().end(request.version().name()))
+            .listen(RandomPort.port())
+            .onSuccess(server -> {
+                HttpClient client = vertx.createHttpClient(new HttpClientOptions()
+                    .setProtocolVersion(HttpVersion.HTTP_2)
+                    .setHttp2ClearTextUpgrade(false));
+                client.request(HttpMethod.GET, server.actualPort(), "localhost", "/")
+                    .flatMap(request -> request.send()
+                        .flatMap(response -> response.body()
+                            .map(body -> Pair.of(body.toString(), request.connection().remoteSettings()))))
+                    .onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+                        Assertions.assertThat(result.getLeft()).isEqualTo(HttpVersion.HTTP_2.name());
+                        Assertions.assertThat(result.getRight().getMaxConcurrentStreams()).isEqualTo(100);
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void testConfigure_whenServerConfigIsMissing_expectDefaults() {
+        HttpServerOptions options = ConfigHttpServerOptionsConfigurer.instance().configure(new JsonObject());
+
+        Assertions.assertThat(options.toJson()).isEqualTo(new HttpServerOptions().toJson());
+    }
+
+}
@@ -0,0 +1,206 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.http.HttpStatusCode;
+import io.github.balconyseats.vertx.helper.test.util.RandomPort;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@ExtendWith(VertxExtension.class)
+class ConfigBodyHandlerTest {
+
+    @Test
+    public void test_handle_whenMethodAndContentTypeMatch_expectBodyBuffered(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, config())
+            .flatMap(server -> WebClient.create(vertx)
+                .post(server.actualPort(), "localhost", "/body")
+                .sendJsonObject(new JsonObject().put("foo", "bar")))
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.bodyAsString()).isEqualTo("{\"foo\":\"bar\"}");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenContentTypeIsNotConfigured_expectBodyNotBuffered(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, config())
+            .flatMap(server -> WebClient.create(vertx)
+                .post(server.actualPort(), "localhost", "/body")
+                .putHeader("Content-Type", "text/plain")
+                .sendBuffer(Buffer.buffer("foo")))
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.bodyAsString()).isEqualTo("none");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenBodyExceedsMaxSize_expectRequestEntityTooLarge(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, config())
+            .flatMap(server -> WebClient.create(vertx)
+                .post(server.actualPort(), "localhost", "/body")
+                .putHeader("Content-Type", "application/json")
+                .sendBuffer(Buffer.buffer(new byte[2048])))
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.statusCode()).isEqualTo(HttpStatusCode.REQUEST_ENTITY_TOO_LARGE.code());
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenStreamingPath_expectBodyStreamed(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, config())
+            .flatMap(server -> WebClient.create(vertx)
+                .post(server.actualPort(), "localhost", "/upload/file")
+                .putHeader("Content-Type", "application/json")
+                .sendBuffer(Buffer.buffer(new byte[64 * 1024])))
+            .map(HttpResponse::bodyAsString)
+            .onComplete(testContext.succeeding(body -> testContext.verify(() -> {
+                Assertions.assertThat(body).isEqualTo(String.valueOf(64 * 1024));
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenBodyIsNotConfigured_expectBodyOfAnyMethodBuffered(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, new JsonObject())
+            .flatMap(server -> WebClient.create(vertx)
+                .get(server.actualPort(), "localhost", "/body")
+                .putHeader("Content-Type", "text/plain")
+                .sendBuffer(Buffer.buffer("foo")))
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.bodyAsString()).isEqualTo("foo");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenContentTypeIsMissing_expectBodyBuffered(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, config())
+            .flatMap(server -> WebClient.create(vertx)
+                .post(server.actualPort(), "localhost", "/body")
+                .sendBuffer(Buffer.buffer("foo")))
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.bodyAsString()).isEqualTo("foo");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenRouteOverridesBodySettings_expectRouteSettingsUsed(Vertx vertx, VertxTestContext testContext) {
+
+        JsonObject config = config();
+        config.getJsonObject("http").getJsonObject("body").put("routes", new JsonArray()
+            .add(new JsonObject().put("path", "/body").put("enabled", false))
+            .add(new JsonObject().put("path", "/other/*").put("methods", new JsonArray().add("PUT"))));
+
+        createHttpServer(vertx, config)
+            .flatMap(server -> {
+                WebClient client = WebClient.create(vertx);
+                return client.post(server.actualPort(), "localhost", "/body")
+                    .sendJsonObject(new JsonObject().put("foo", "bar"))
+                    .flatMap(disabled -> client.put(server.actualPort(), "localhost", "/other/body")
+                        .sendJsonObject(new JsonObject().put("foo", "bar"))
+                        .map(put -> disabled.bodyAsString() + " " + put.bodyAsString()));
+            })
+            .onComplete(testContext.succeeding(body -> testContext.verify(() -> {
+                Assertions.assertThat(body).isEqualTo("none {\"foo\":\"bar\"}");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenRouteDefinesMaxSize_expectRouteMaxSizeUsed(Vertx vertx, VertxTestContext testContext) {
+
+        JsonObject config = config();
+        config.getJsonObject("http").getJsonObject("body").put("routes", new JsonArray()
+            .add(new JsonObject().put("path", "/other/*").put("maxSizeBytes", 4096)));
+
+        createHttpServer(vertx, config)
+            .flatMap(server -> {
+                WebClient client = WebClient.create(vertx);
+                return client.post(server.actualPort(), "localhost", "/other/body")
+                    .putHeader("Content-Type", "application/json")
+                    .sendBuffer(Buffer.buffer(new byte[2048]))
+                    .flatMap(route -> client.post(server.actualPort(), "localhost", "/body")
+                        .putHeader("Content-Type", "application/json")
+                        .sendBuffer(Buffer.buffer(new byte[2048]))
+                        .map(other -> route.bodyAsString().length() + " " + other.statusCode()));
+            })
+            .onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+                Assertions.assertThat(result).isEqualTo("2048 " + HttpStatusCode.REQUEST_ENTITY_TOO_LARGE.code());
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_handle_whenBodyIsNotBuffered_expectRequestPaused(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, config())
+            .flatMap(server -> WebClient.create(vertx)
+                .put(server.actualPort(), "localhost", "/upload/file")
+                .putHeader("Content-Type", "application/json")
+                .sendBuffer(Buffer.buffer(new byte[64 * 1024])))
+            .map(HttpResponse::bodyAsString)
+            .onComplete(testContext.succeeding(body -> testContext.verify(() -> {
+                Assertions.assertThat(body).isEqualTo(String.valueOf(64 * 1024));
+                testContext.completeNow();
+            })));
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx, JsonObject config) {
+        Router router = Router.router(vertx);
+        router.route().handler(ConfigBodyHandler.create(config, null));
+        router.route("/body").handler(ctx -> {
+            Buffer body = ctx.getBody();
+            ctx.end(body == null ? "none" : body.toString());
+        });
+        router.route("/other/body").handler(ctx -> {
+            Buffer body = ctx.getBody();
+            ctx.end(body == null ? "none" : body.toString());
+        });
+        router.route("/upload/*").handler(ctx -> {
+            AtomicLong size = new AtomicLong();
+            // simulate async handler before body is consumed
+            vertx.setTimer(50, id -> ctx.request()
+                .handler(buffer -> size.addAndGet(buffer.length()))
+                .endHandler(v -> ctx.end(String.valueOf(size.get())))
+                .resume());
+        });
+        return vertx.createHttpServer()
+            .requestHandler(router)
+            .listen(RandomPort.port());
+    }
+
+    private JsonObject config() {
+        return new JsonObject()
+            .put("http", new JsonObject()
+                .put("body", new JsonObject()
+                    .put("methods", new JsonArray().add("POST"))
+                    .put("contentTypes", new JsonArray().add("application/json"))
+                    .put("maxSizeBytes", 1024)
+                    .put("streaming", new JsonObject().put("paths", new JsonArray().add("/upload/*")))
+                )
+            );
+    }
+
+}
@@ -0,0 +1,154 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.http.ConfigHttpServerOptionsConfigurer;
+import io.github.balconyseats.vertx.helper.test.util.RandomPort;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+@ExtendWith(VertxExtension.class)
+class ConfigCompressionHandlerTest {
+
+    private static final String LARGE_JSON = "{\"data\":\"" + "a".repeat(4096) + "\"}";
+
+    private int staticBodyCreated;
+    private Future<HttpServer> server;
+
+    @Test
+    public void test_apply_whenResponseIsLargeAndCompressible_expectCompressed(Vertx vertx, VertxTestContext testContext) {
+        get(vertx, "/json/large")
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_apply_whenResponseIsSmallerThanMinSize_expectNotCompressed(Vertx vertx, VertxTestContext testContext) {
+        get(vertx, "/json/small")
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.getHeader("Content-Encoding")).isNull();
+                Assertions.assertThat(response.bodyAsString()).isEqualTo("{}");
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_apply_whenContentTypeIsNotAllowed_expectNotCompressed(Vertx vertx, VertxTestContext testContext) {
+        get(vertx, "/image")
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.getHeader("Content-Encoding")).isNull();
+                Assertions.assertThat(response.body().length()).isEqualTo(4096);
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_send_whenPrecompressedResponse_expectCompressedOnce(Vertx vertx, VertxTestContext testContext) {
+        get(vertx, "/static")
+            .flatMap(first -> get(vertx, "/static").map(second -> new HttpResponse[]{first, second}))
+            .onComplete(testContext.succeeding(responses -> testContext.verify(() -> {
+                for (HttpResponse<?> response : responses) {
+                    Assertions.assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+                    Assertions.assertThat(response.getHeader("Vary")).isEqualTo("accept-encoding");
+                    Assertions.assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(
+                        ((Buffer) response.body()).getBytes())).readAllBytes())).isEqualTo(LARGE_JSON);
+                }
+                Assertions.assertThat(staticBodyCreated).isEqualTo(1);
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_send_whenGzipIsNotAccepted_expectIdentityBody(Vertx vertx, VertxTestContext testContext) {
+        createHttpServer(vertx)
+            .flatMap(server -> WebClient.create(vertx, new WebClientOptions().setTryUseCompression(false))
+                .get(server.actualPort(), "localhost", "/static")
+                .send())
+            .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                Assertions.assertThat(response.getHeader("Content-Encoding")).isNull();
+                Assertions.assertThat(response.bodyAsString()).isEqualTo(LARGE_JSON);
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void test_apply_whenCompressionIsDisabled_expectNoContentEncoding(Vertx vertx, VertxTestContext testContext) {
+        server = createHttpServer(vertx, false);
+        WebClient client = WebClient.create(vertx, new WebClientOptions().setTryUseCompression(false));
+        server
+            .flatMap(server -> client.get(server.actualPort(), "localhost", "/json/small")
+                .putHeader("Accept-Encoding", "gzip")
+                .send()
+                .flatMap(small -> client.get(server.actualPort(), "localhost", "/static")
+                    .send()
+                    .map(precompressed -> new HttpResponse[]{small, precompressed})))
+            .onComplete(testContext.succeeding(responses -> testContext.verify(() -> {
+                for (HttpResponse<?> response : responses) {
+                    Assertions.assertThat(response.headers().contains("Content-Encoding")).isFalse();
+                }
+                Assertions.assertThat(responses[1].bodyAsString()).isEqualTo(LARGE_JSON);
+                testContext.completeNow();
+            })));
+    }
+
+    private Future<HttpResponse<Buffer>> get(Vertx vertx, String path) {
+        return createHttpServer(vertx)
+            .flatMap(server -> WebClient.create(vertx, new WebClientOptions().setTryUseCompression(false))
+                .get(server.actualPort(), "localhost", path)
+                .putHeader("Accept-Encoding", "gzip")
+                .send());
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx) {
+        if (server != null) {
+            return server;
+        }
+        server = createHttpServer(vertx, true);
+        return server;
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx, boolean compression) {
+        JsonObject config = new JsonObject()
+            .put("http", new JsonObject()
+                .put("server", new JsonObject()
+                    .put("compression", new JsonObject()
+                        .put("enabled", compression)
+                        .put("minSizeBytes", 1024)
+                        .put("contentTypes", new JsonArray().add("application/json").add("text/*"))
+                    )
+                )
+            );
+
+        PrecompressedResponseCache cache = PrecompressedResponseCache.create(config);
+        Router router = Router.router(vertx);
+        new ConfigCompressionHandler().apply(vertx, router, config);
+        router.get("/json/large").handler(ctx -> ctx.response().putHeader("Content-Type", "application/json").end(LARGE_JSON));
+        router.get("/json/small").handler(ctx -> ctx.response().putHeader("Content-Type", "application/json").end("{}"));
+        router.get("/image").handler(ctx -> ctx.response().putHeader("Content-Type", "image/png").end(Buffer.buffer(new byte[4096])));
+        router.get("/static").handler(ctx -> cache.send(ctx, "static", "application/json", () -> {
+            staticBodyCreated++;
+            return Buffer.buffer(LARGE_JSON);
+        }));
+
+        return vertx.createHttpServer(ConfigHttpServerOptionsConfigurer.instance().configure(config))
+            .requestHandler(router)
+            .listen(RandomPort.port());
+    }
+
+}
@@ -0,0 +1,131 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.github.balconyseats.vertx.helper.http.HttpStatusCode;
+import io.github.balconyseats.vertx.helper.test.util.JWTUtil;
+import io.github.balconyseats.vertx.helper.test.util.RandomPort;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class ConfigJWTAuthHandlerTest {
+
+    @Test
+    public void test_apply_whenJwtAuthEnabled_expectConfiguredPathsAuthenticated(Vertx vertx, VertxTestContext testContext) {
+
+        String jwt = JWTUtil.builder(vertx)
+            .setKeyId("foo-key-id")
+            .setAlgorithm("RS512")
+            .setPrivateKeyPem(JWTUtil.JWK_RSA_PRIVATE_KEY)
+            .setIssuer("foo")
+            .setSubject("foo")
+            .setExpiresInSeconds(60)
+            .build()
+            .jwt();
+
+        createHttpServer(vertx, config(true))
+            .onSuccess(httpServer -> {
+                WebClient client = WebClient.create(vertx);
+                int port = httpServer.actualPort();
+
+                client.get(port, "localhost", "/api/resource").send()
+                    .flatMap(unauthorized -> client.get(port, "localhost", "/api/resource").bearerTokenAuthentication(jwt).send()
+                        .flatMap(authorized -> client.get(port, "localhost", "/public").send()
+                            .map(unprotected -> new int[]{unauthorized.statusCode(), authorized.statusCode(), unprotected.statusCode()})))
+                    .onComplete(testContext.succeeding(statusCodes -> testContext.verify(() -> {
+                        Assertions.assertThat(statusCodes).containsExactly(
+                            HttpStatusCode.UNAUTHORIZED.code(), HttpStatusCode.OK.code(), HttpStatusCode.OK.code());
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void test_apply_whenJwtAuthDisabled_expectRoutesNotAuthenticated(Vertx vertx, VertxTestContext testContext) {
+
+        createHttpServer(vertx, config(false))
+            .onSuccess(httpServer -> WebClient.create(vertx)
+                .get(httpServer.actualPort(), "localhost", "/api/resource").send()
+                .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                    Assertions.assertThat(response.statusCode()).isEqualTo(HttpStatusCode.OK.code());
+                    testContext.completeNow();
+                }))))
+            .onFailure(testContext::failNow);
+    }
+
+    @Test
+    public void test_apply_whenPathsAreNotDefined_expectAllRoutesExceptHealthAndMetricsAuthenticated(Vertx vertx, VertxTestContext testContext) {
+
+        JsonObject config = config(true);
+        config.getJsonObject("http").getJsonObject("auth").getJsonObject("jwt").remove("paths");
+        config.getJsonObject("http").put("health", new JsonObject().put("enabled", true));
+        config.put("metrics", new JsonObject()
+            .put("micrometer", new JsonObject()
+                .put("enabled", true)
+                .put("prometheus", new JsonObject().put("enabled", true))));
+
+        createHttpServer(vertx, config)
+            .onSuccess(httpServer -> {
+                WebClient client = WebClient.create(vertx);
+                int port = httpServer.actualPort();
+
+                client.get(port, "localhost", "/public").send()
+                    .flatMap(resource -> client.get(port, "localhost", "/health").send()
+                        .flatMap(health -> client.get(port, "localhost", "/metrics").send()
+                            .map(metrics -> new int[]{resource.statusCode(), health.statusCode(), metrics.statusCode()})))
+                    .onComplete(testContext.succeeding(statusCodes -> testContext.verify(() -> {
+                        Assertions.assertThat(statusCodes).containsExactly(
+                            HttpStatusCode.UNAUTHORIZED.code(), HttpStatusCode.OK.code(), HttpStatusCode.OK.code());
+                        testContext.completeNow();
+                    })));
+            })
+            .onFailure(testContext::failNow);
+    }
+
+    private Future<HttpServer> createHttpServer(Vertx vertx, JsonObject config) {
+        Router router = Router.router(vertx);
+        new ConfigJWTAuthHandler().apply(vertx, router, config);
+        router.get("/api/resource").handler(ctx -> ctx.end("resource"));
+        router.get("/public").handler(ctx -> ctx.end("public"));
+        router.get("/health").handler(ctx -> ctx.end("health"));
+        router.get("/metrics").handler(ctx -> ctx.end("metrics"));
+        return vertx.createHttpServer()
+            .requestHandler(router)
+            .listen(RandomPort.port());
+    }
+
+    private JsonObject config(boolean enabled) {
+        return new JsonObject()
+            .put("http", new JsonObject()
+                .put("auth", new JsonObject()
+                    .put("jwt", new JsonObject()
+                        .put("enabled", enabled)
+                        .put("paths", new JsonArray().add("/api/*"))
+                        .put("clients", new JsonArray()
+                            .add(new JsonObject()
+                                .put("issuer", "foo")
+                                .put("jwks", new JsonArray()
+                                    .add(new JsonObject()
+                                        .put("key-id", "foo-key-id")
+                                        .put("algorithm", "RS512")
+                                        .put("public-key-pem", JWTUtil.JWK_RSA_PUBLIC_KEY)
+                                    )
+                                )
+                            )
+                        )
+                    )
+                )
+            );
+    }
+
+}
@@ -0,0 +1,35 @@
+package io.github.balconyseats.vertx.helper.http.handlers;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.junit5.VertxExtension;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class ContextualLoggingRouterHandlerTest {
+
+    @Test
+    public void test_apply_whenTracingIsDisabled_expectNoRoute(Vertx vertx) {
+        Router router = Router.router(vertx);
+
+        new ContextualLoggingRouterHandler().apply(vertx, router, new JsonObject());
+
+        Assertions.assertThat(router.getRoutes()).isEmpty();
+    }
+
+    @Test
+    public void test_apply_whenZipkinIsEnabled_expectRoute(Vertx vertx) {
+        Router router = Router.router(vertx);
+        JsonObject config = new JsonObject()
+            .put("tracing", new JsonObject()
+                .put("zipkin", new JsonObject().put("enabled", true)));
+
+        new ContextualLoggingRouterHandler().apply(vertx, router, config);
+
+        Assertions.assertThat(router.getRoutes()).hasSize(1);
+    }
+
+}
@@ -0,0 +1,58 @@
+package io.github.balconyseats.vertx.helper.util;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.pointer.JsonPointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link JsonObjectHelper} lookups with cached pointers to previous implementation which parsed
+ * json pointer on every lookup.
+ * <p>
+ * Run with:
+ * <pre>
+ *     mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ *     java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *       org.openjdk.jmh.Main JsonObjectHelperBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonObjectHelperBenchmark {
+
+    private static final String PATH = "/tracing/zipkin/enabled";
+
+    private JsonObject config;
+
+    @Setup
+    public void setup() {
+        config = new JsonObject()
+            .put("tracing", new JsonObject()
+                .put("zipkin", new JsonObject().put("enabled", true)));
+    }
+
+    @Benchmark
+    public Object parsePointer() {
+        return JsonPointer.from(PATH).queryJsonOrDefault(config, false);
+    }
+
+    @Benchmark
+    public boolean cachedPointer() {
+        return JsonObjectHelper.getBoolean(PATH, config);
+    }
+
+}
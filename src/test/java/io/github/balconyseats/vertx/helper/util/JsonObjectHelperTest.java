@@ -0,0 +1,24 @@
+package io.github.balconyseats.vertx.helper.util;
+
+import io.vertx.core.json.JsonObject;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class JsonObjectHelperTest {
+
+    @Test
+    public void testPointer_whenCacheIsFull_expectPathParsedWithoutCaching() {
+        Assertions.assertThat(JsonObjectHelper.pointer("/http/server/port"))
+            .isSameAs(JsonObjectHelper.pointer("/http/server/port"));
+
+        for (int i = 0; i < JsonObjectHelper.MAX_CACHED_POINTERS; i++) {
+            JsonObjectHelper.pointer("/cache/fill/" + i);
+        }
+
+        Assertions.assertThat(JsonObjectHelper.pointer("/not/cached"))
+            .isNotSameAs(JsonObjectHelper.pointer("/not/cached"));
+        Assertions.assertThat(JsonObjectHelper.getString("/not/cached",
+            new JsonObject().put("not", new JsonObject().put("cached", "value")))).isEqualTo("value");
+    }
+
+}